@@ -0,0 +1,56 @@
+package spike;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes every rotation as three zigzag encoded variable length integers
+ * (clicks, position, times pointing at zero), usually 3 to 6 bytes per rotation.
+ * Closing flushes the buffer but leaves {@code out} open.
+ */
+final class BinaryTraceSink implements TraceSink {
+    private static final int MAX_VAR_LONG_LENGTH = 10;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[1 << 16];
+    private int length;
+
+    BinaryTraceSink(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void rotated(long clicks, int current, long timesPointingAtZero) {
+        if (length > buffer.length - 3 * MAX_VAR_LONG_LENGTH) {
+            try {
+                flushBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        writeVarLong(clicks);
+        writeVarLong(current);
+        writeVarLong(timesPointingAtZero);
+    }
+
+    private void writeVarLong(long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer[length++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        buffer[length++] = (byte) zigzag;
+    }
+
+    private void flushBuffer() throws IOException {
+        out.write(buffer, 0, length);
+        length = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+}
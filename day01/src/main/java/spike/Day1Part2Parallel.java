@@ -0,0 +1,14 @@
+package spike;
+
+import java.nio.file.Path;
+
+public class Day1Part2Parallel {
+    static void main() throws Exception {
+        Path input = RotationReader.resourcePath("/input.txt");
+        ParallelDial.Result result = ParallelDial.simulate(input);
+        System.out.printf("The dial ends at %d a total of %d times.%n", Dial.ZERO, result.timesEndingAtZero());
+        System.out.printf("The dial points at %d a total of %d times.%n", Dial.ZERO, result.timesPointingAtZero());
+        // 1043
+        // 5963
+    }
+}
@@ -0,0 +1,50 @@
+package spike;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the throughput of the dial with tracing disabled, with the trace sinks and with the old {@code printf}.
+ * Every trace goes to a null stream, so only the cost of formatting and buffering is measured.
+ */
+public class Day1TraceBenchmark {
+    private static final int ROTATIONS = 2_000_000;
+    private static final int ROUNDS = 3;
+
+    static void main() throws Exception {
+        long[] rotations = new Random(2025).longs(ROTATIONS, -1_000, 1_001).toArray();
+        PrintStream nullPrintStream = new PrintStream(OutputStream.nullOutputStream());
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("round %d%n", round);
+            measure("none", rotations, () -> TraceSink.NONE);
+            measure("text", rotations, () -> new TextTraceSink(OutputStream.nullOutputStream()));
+            measure("binary", rotations, () -> new BinaryTraceSink(OutputStream.nullOutputStream()));
+            measure("printf", rotations, () -> (clicks, current, timesPointingAtZero) ->
+                    nullPrintStream.printf("The dial is rotated %s to point at %d; during this rotation, it points at %d %d times.%n",
+                            Dial.formatRotation(clicks), current, Dial.ZERO, timesPointingAtZero));
+        }
+    }
+
+    private static void measure(String name, long[] rotations, Supplier<TraceSink> sinks) throws IOException {
+        Dial dial = new Dial();
+        long timesPointingAtZero = 0;
+        long start = System.nanoTime();
+        try (TraceSink trace = sinks.get()) {
+            for (long clicks : rotations) {
+                long timesPointingAtZeroSubTotal = dial.rotate(clicks);
+                trace.rotated(clicks, dial.current(), timesPointingAtZeroSubTotal);
+                timesPointingAtZero += timesPointingAtZeroSubTotal;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("  %-6s %,6d ms %,12.0f rotations/s (%d)%n",
+                name,
+                TimeUnit.NANOSECONDS.toMillis(elapsed),
+                rotations.length / (elapsed / 1e9),
+                timesPointingAtZero);
+    }
+}
@@ -0,0 +1,62 @@
+package spike;
+
+final class Dial {
+    static final int SIZE = 100;
+    static final int START = 50;
+    static final int ZERO = 0;
+
+    private int current;
+
+    Dial() {
+        this(START);
+    }
+
+    Dial(int current) {
+        this.current = current;
+    }
+
+    int current() {
+        return current;
+    }
+
+    /**
+     * Rotates the dial by {@code clicks} (negative is left, positive is right)
+     * and returns how many times it pointed at zero during the rotation.
+     * Constant time, whatever the size of the rotation.
+     */
+    long rotate(long clicks) {
+        long from = clicks < 0 ? current + clicks : current + 1L;
+        long to = clicks < 0 ? current - 1L : current + clicks;
+        current = Math.floorMod(current + clicks, SIZE);
+        return countMultiples(from, to);
+    }
+
+    /**
+     * Reference implementation of {@link #rotate(long)} that moves the dial one click at a time.
+     */
+    long rotateStepByStep(long clicks) {
+        int increment = clicks < 0 ? -1 : 1;
+        long timesPointingAtZero = 0;
+        for (long i = 0; i < Math.abs(clicks); i++) {
+            current += increment;
+            if (current < 0) current = SIZE - 1;
+            if (current >= SIZE) current = 0;
+            if (current == ZERO) timesPointingAtZero++;
+        }
+        return timesPointingAtZero;
+    }
+
+    static long parseRotation(String line) {
+        long clicks = Long.parseLong(line.substring(1));
+        return line.startsWith("L") ? -clicks : clicks;
+    }
+
+    static String formatRotation(long clicks) {
+        return (clicks < 0 ? "L" : "R") + Math.abs(clicks);
+    }
+
+    // number of positions in [from, to] (unwrapped) that land on zero
+    private static long countMultiples(long from, long to) {
+        return Math.floorDiv(to - ZERO, SIZE) - Math.floorDiv(from - 1 - ZERO, SIZE);
+    }
+}
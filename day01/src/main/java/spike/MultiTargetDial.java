@@ -0,0 +1,74 @@
+package spike;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * Counts, for a dial of any size, how many times it points at each of a set of target positions.
+ * A rotation counts the hits of every target in constant time like {@link Dial#rotate(long)} does for zero,
+ * so memory and time only grow with the number of targets, never with the size of the dial.
+ */
+final class MultiTargetDial {
+
+    record DialSpec(int size, int start, int[] targets) {
+        DialSpec {
+            targets = targets.clone();
+            if (size <= 0) {
+                throw new IllegalArgumentException("Invalid dial size: " + size);
+            }
+            if (start < 0 || start >= size) {
+                throw new IllegalArgumentException("Invalid start position: " + start);
+            }
+            for (int target : targets) {
+                if (target < 0 || target >= size) {
+                    throw new IllegalArgumentException("Invalid target position: " + target);
+                }
+            }
+        }
+    }
+
+    private final DialSpec spec;
+    private final int[] targets;
+    private final long[] hits;
+    private int current;
+
+    MultiTargetDial(DialSpec spec) {
+        this.spec = spec;
+        this.targets = spec.targets();
+        this.hits = new long[targets.length];
+        this.current = spec.start();
+    }
+
+    static long[] countHits(DialSpec spec, PrimitiveIterator.OfLong rotations) {
+        MultiTargetDial dial = new MultiTargetDial(spec);
+        while (rotations.hasNext()) {
+            dial.rotate(rotations.nextLong());
+        }
+        return dial.hits();
+    }
+
+    int current() {
+        return current;
+    }
+
+    void rotate(long clicks) {
+        int size = spec.size();
+        long from = clicks < 0 ? current + clicks : current + 1L;
+        long to = clicks < 0 ? current - 1L : current + clicks;
+        for (int i = 0; i < targets.length; i++) {
+            hits[i] += countLandings(from, to, targets[i], size);
+        }
+        current = Math.floorMod(current + clicks % size, size);
+    }
+
+    /**
+     * Returns the number of times the dial pointed at every target, in the order of {@link DialSpec#targets()}.
+     */
+    long[] hits() {
+        return hits.clone();
+    }
+
+    // number of positions in [from, to] (unwrapped) that land on target
+    private static long countLandings(long from, long to, int target, int size) {
+        return Math.floorDiv(to - target, size) - Math.floorDiv(from - 1 - target, size);
+    }
+}
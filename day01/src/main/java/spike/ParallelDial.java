@@ -0,0 +1,75 @@
+package spike;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the dial over a rotation log on all cores.
+ * Rotations compose as offsets modulo the dial size, so every chunk of the log is first reduced
+ * to its net offset in parallel, a prefix scan over those offsets gives the position each chunk
+ * starts at, and then every chunk counts its zeros in parallel from that starting position.
+ */
+final class ParallelDial {
+
+    record Result(int current, long timesEndingAtZero, long timesPointingAtZero) {
+        Result plus(Result next) {
+            return new Result(next.current, timesEndingAtZero + next.timesEndingAtZero, timesPointingAtZero + next.timesPointingAtZero);
+        }
+    }
+
+    static Result simulate(Path input) throws IOException {
+        return simulate(input, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    static Result simulate(Path input, int chunkCount) throws IOException {
+        long[] boundaries = RotationReader.lineBoundaries(input, chunkCount);
+        int chunks = boundaries.length - 1;
+
+        int[] offsets = IntStream.range(0, chunks)
+                .parallel()
+                .map(chunk -> netOffset(input, boundaries[chunk], boundaries[chunk + 1]))
+                .toArray();
+        Arrays.parallelPrefix(offsets, (a, b) -> Math.floorMod(a + b, Dial.SIZE));
+
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> {
+                    int start = chunk == 0 ? Dial.START : (Dial.START + offsets[chunk - 1]) % Dial.SIZE;
+                    return simulate(input, boundaries[chunk], boundaries[chunk + 1], start);
+                })
+                .reduce(Result::plus)
+                .orElse(new Result(Dial.START, 0, 0));
+    }
+
+    private static int netOffset(Path input, long start, long end) {
+        try (RotationReader rotations = RotationReader.open(input, start, end)) {
+            long offset = 0;
+            while (rotations.hasNext()) {
+                offset = (offset + rotations.nextLong() % Dial.SIZE) % Dial.SIZE;
+            }
+            return Math.floorMod(offset, Dial.SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Result simulate(Path input, long start, long end, int current) {
+        try (RotationReader rotations = RotationReader.open(input, start, end)) {
+            Dial dial = new Dial(current);
+            long timesEndingAtZero = 0;
+            long timesPointingAtZero = 0;
+            while (rotations.hasNext()) {
+                timesPointingAtZero += dial.rotate(rotations.nextLong());
+                if (dial.current() == Dial.ZERO) {
+                    timesEndingAtZero++;
+                }
+            }
+            return new Result(dial.current(), timesEndingAtZero, timesPointingAtZero);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
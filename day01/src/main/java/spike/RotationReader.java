@@ -0,0 +1,190 @@
+package spike;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads rotations such as {@code L68} or {@code R48} straight from a memory mapped file,
+ * one window at a time, as signed clicks (negative is left).
+ * Nothing is allocated per line, so memory use stays flat however large the file is.
+ */
+final class RotationReader implements PrimitiveIterator.OfLong, AutoCloseable {
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long end;
+    private long windowStart;
+    private MappedByteBuffer window;
+    private boolean hasPending;
+    private long pending;
+
+    private RotationReader(FileChannel channel, long start, long end) {
+        this.channel = channel;
+        this.windowStart = start;
+        this.end = end;
+    }
+
+    static RotationReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, READ);
+        return new RotationReader(channel, 0, channel.size());
+    }
+
+    /**
+     * Reads only the rotations in {@code [start, end)}; both should be line boundaries,
+     * see {@link #lineBoundaries(Path, int)}.
+     */
+    static RotationReader open(Path path, long start, long end) throws IOException {
+        return new RotationReader(FileChannel.open(path, READ), start, end);
+    }
+
+    /**
+     * Splits the file into at most {@code chunks} parts of roughly equal size, moving every split
+     * to just after the next newline. The first boundary is 0 and the last one is the file size.
+     */
+    static long[] lineBoundaries(Path path, int chunks) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            long size = channel.size();
+            LongStream.Builder boundaries = LongStream.builder().add(0);
+            long previous = 0;
+            ByteBuffer buffer = ByteBuffer.allocate(64);
+            for (int i = 1; i < chunks; i++) {
+                long boundary = Math.max(previous, size * i / chunks);
+                boundary = nextLineStart(channel, boundary, buffer);
+                if (boundary > previous && boundary < size) {
+                    boundaries.add(boundary);
+                    previous = boundary;
+                }
+            }
+            return boundaries.add(size).build().toArray();
+        }
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+        // a boundary right after a newline is already a line start
+        position--;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    static Path resourcePath(String name) throws URISyntaxException {
+        return Path.of(requireNonNull(RotationReader.class.getResource(name)).toURI());
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!hasPending) {
+            hasPending = readRotation();
+        }
+        return hasPending;
+    }
+
+    @Override
+    public long nextLong() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        hasPending = false;
+        return pending;
+    }
+
+    /**
+     * Reads the next non-blank line, which must be a direction letter followed by at least one digit,
+     * and fails like {@link Long#parseLong(String)} on anything else, including a distance that overflows.
+     */
+    private boolean readRotation() {
+        int sign = 0;
+        int digits = 0;
+        long clicks = 0;
+        while (nextWindowIfNeeded()) {
+            byte b = window.get();
+            if (b == '\r') {
+                continue;
+            }
+            if (b == '\n') {
+                if (sign != 0) {
+                    pending = rotation(sign, digits, clicks);
+                    return true;
+                }
+                continue;
+            }
+            if (sign == 0) {
+                sign = switch (b) {
+                    case 'L' -> -1;
+                    case 'R' -> 1;
+                    default -> throw new IllegalArgumentException("Invalid direction in rotation: " + (char) b);
+                };
+                continue;
+            }
+            if (b < '0' || b > '9') {
+                throw new IllegalArgumentException("Invalid character in rotation: " + (char) b);
+            }
+            try {
+                clicks = Math.addExact(Math.multiplyExact(clicks, 10), b - '0');
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Invalid distance in rotation: more than " + Long.MAX_VALUE, e);
+            }
+            digits++;
+        }
+        if (sign != 0) {
+            pending = rotation(sign, digits, clicks);
+            return true;
+        }
+        return false;
+    }
+
+    private static long rotation(int sign, int digits, long clicks) {
+        if (digits == 0) {
+            throw new IllegalArgumentException("Invalid rotation: no distance after " + (sign < 0 ? 'L' : 'R'));
+        }
+        return sign * clicks;
+    }
+
+    private boolean nextWindowIfNeeded() {
+        if (window != null && window.hasRemaining()) {
+            return true;
+        }
+        if (window != null) {
+            windowStart += window.capacity();
+        }
+        if (windowStart >= end) {
+            return false;
+        }
+        try {
+            window = channel.map(READ_ONLY, windowStart, Math.min(WINDOW_SIZE, end - windowStart));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return window.hasRemaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,49 @@
+package spike;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes one line per rotation through a large buffer instead of a synchronized {@code printf}.
+ * Closing flushes the buffer but leaves {@code out} open.
+ */
+final class TextTraceSink implements TraceSink {
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(128);
+
+    TextTraceSink(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, UTF_8), 1 << 16);
+    }
+
+    @Override
+    public void rotated(long clicks, int current, long timesPointingAtZero) {
+        line.setLength(0);
+        line.append("The dial is rotated ")
+                .append(clicks < 0 ? 'L' : 'R')
+                .append(Math.abs(clicks))
+                .append(" to point at ")
+                .append(current)
+                .append("; during this rotation, it points at ")
+                .append(Dial.ZERO)
+                .append(' ')
+                .append(timesPointingAtZero)
+                .append(" times.")
+                .append(System.lineSeparator());
+        try {
+            out.append(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+}
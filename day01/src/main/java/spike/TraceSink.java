@@ -0,0 +1,19 @@
+package spike;
+
+import java.io.IOException;
+
+/**
+ * Receives every rotation of the dial. Tracing is opt-in: {@link #NONE} ignores everything,
+ * {@link TextTraceSink} writes the human readable lines and {@link BinaryTraceSink} a compact binary log.
+ */
+@FunctionalInterface
+interface TraceSink extends AutoCloseable {
+    TraceSink NONE = (clicks, current, timesPointingAtZero) -> {
+    };
+
+    void rotated(long clicks, int current, long timesPointingAtZero);
+
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,52 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DialTest {
+    @ParameterizedTest
+    @CsvSource(textBlock = """
+            50, 'L68', 82, 1
+            82, 'L30', 52, 0
+            52, 'R48', 0, 1
+            0, 'L5', 95, 0
+            95, 'R60', 55, 1
+            55, 'L55', 0, 1
+            0, 'L1', 99, 0
+            99, 'L99', 0, 1
+            0, 'R14', 14, 0
+            14, 'L82', 32, 1
+            """)
+    void shouldFollowExample(int start, String line, int expectedCurrent, long expectedTimesPointingAtZero) {
+        Dial dial = new Dial(start);
+        long actualTimesPointingAtZero = dial.rotate(Dial.parseRotation(line));
+        assertThat(dial.current()).isEqualTo(expectedCurrent);
+        assertThat(actualTimesPointingAtZero).isEqualTo(expectedTimesPointingAtZero);
+    }
+
+    @Test
+    void shouldMatchStepByStepForRandomRotations() {
+        Random random = new Random(2025);
+        Dial closedForm = new Dial();
+        Dial stepByStep = new Dial();
+        for (int i = 0; i < 10_000; i++) {
+            long clicks = random.nextInt(-1_000, 1_001);
+            assertThat(closedForm.rotate(clicks)).isEqualTo(stepByStep.rotateStepByStep(clicks));
+            assertThat(closedForm.current()).isEqualTo(stepByStep.current());
+        }
+    }
+
+    @Test
+    void shouldHandleHugeRotations() {
+        Dial dial = new Dial();
+        assertThat(dial.rotate(5_000_000_050L)).isEqualTo(50_000_001L);
+        assertThat(dial.current()).isEqualTo(0);
+        assertThat(dial.rotate(-5_000_000_000L)).isEqualTo(50_000_000L);
+        assertThat(dial.current()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,53 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MultiTargetDialTest {
+    @Test
+    void shouldMatchDialForZero() {
+        long[] rotations = {-68, -30, 48, -5, 60, -55, -1, -99, 14, -82};
+        MultiTargetDial.DialSpec spec = new MultiTargetDial.DialSpec(Dial.SIZE, Dial.START, new int[]{Dial.ZERO});
+        long[] hits = MultiTargetDial.countHits(spec, LongStream.of(rotations).iterator());
+        assertThat(hits).containsExactly(6);
+    }
+
+    @Test
+    void shouldCopyTargets() {
+        int[] targets = {0, 50};
+        MultiTargetDial.DialSpec spec = new MultiTargetDial.DialSpec(Dial.SIZE, Dial.START, targets);
+        targets[0] = 99;
+        assertThat(spec.targets()).containsExactly(0, 50);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7, 100, 1_000})
+    void shouldMatchStepByStepForEveryTarget(int size) {
+        Random random = new Random(size);
+        int[] targets = random.ints(20, 0, size).toArray();
+        MultiTargetDial.DialSpec spec = new MultiTargetDial.DialSpec(size, random.nextInt(size), targets);
+        MultiTargetDial dial = new MultiTargetDial(spec);
+        long[] expected = new long[targets.length];
+        int current = spec.start();
+        for (int i = 0; i < 2_000; i++) {
+            long clicks = random.nextInt(-3 * size, 3 * size + 1);
+            dial.rotate(clicks);
+            for (long click = 0; click < Math.abs(clicks); click++) {
+                current = Math.floorMod(current + Long.signum(clicks), size);
+                for (int t = 0; t < targets.length; t++) {
+                    if (current == targets[t]) {
+                        expected[t]++;
+                    }
+                }
+            }
+            assertThat(dial.current()).isEqualTo(current);
+        }
+        assertThat(dial.hits()).containsExactly(expected);
+    }
+}
@@ -0,0 +1,39 @@
+package spike;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelDialTest {
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 16, 1000, 100_000})
+    void shouldMatchSerialSimulation(int chunkCount) throws Exception {
+        Random random = new Random(2025);
+        StringBuilder log = new StringBuilder();
+        Dial dial = new Dial();
+        long timesEndingAtZero = 0;
+        long timesPointingAtZero = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long clicks = random.nextInt(-1_000, 1_001);
+            log.append(Dial.formatRotation(clicks)).append('\n');
+            timesPointingAtZero += dial.rotate(clicks);
+            if (dial.current() == Dial.ZERO) {
+                timesEndingAtZero++;
+            }
+        }
+        Path input = Files.writeString(tempDir.resolve("input.txt"), log);
+
+        ParallelDial.Result actual = ParallelDial.simulate(input, chunkCount);
+
+        assertThat(actual).isEqualTo(new ParallelDial.Result(dial.current(), timesEndingAtZero, timesPointingAtZero));
+    }
+}
@@ -0,0 +1,43 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RotationReaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReadSignedRotations() throws Exception {
+        Path input = Files.writeString(tempDir.resolve("input.txt"), "L68\nR48\r\nL5\n\nR1000000000");
+        LongStream.Builder actual = LongStream.builder();
+        try (RotationReader rotations = RotationReader.open(input)) {
+            while (rotations.hasNext()) {
+                actual.add(rotations.nextLong());
+            }
+        }
+        assertThat(actual.build().toArray()).containsExactly(-68, 48, -5, 1_000_000_000);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"L", "R\nL5", "L5R3", "LR5", "L-5", "5", "R99999999999999999999"})
+    void shouldRejectInvalidRotations(String content) throws Exception {
+        Path input = Files.writeString(tempDir.resolve("input.txt"), content);
+        try (RotationReader rotations = RotationReader.open(input)) {
+            assertThatThrownBy(() -> {
+                while (rotations.hasNext()) {
+                    rotations.nextLong();
+                }
+            }).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
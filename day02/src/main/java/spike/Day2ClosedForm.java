@@ -0,0 +1,47 @@
+package spike;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+public class Day2ClosedForm {
+
+    static void main() throws Exception {
+//        String name = "/example.txt";
+        String name = "/input.txt";
+        String input = readInputAsString(name);
+        List<ProductIdRange> productIdRanges = parseProductIdRanges(input);
+        for (InvalidIds.Repetition repetition : InvalidIds.Repetition.values()) {
+            long count = 0;
+            BigInteger sum = BigInteger.ZERO;
+            for (ProductIdRange productIdRange : productIdRanges) {
+                count += InvalidIds.countInvalidIds(productIdRange, repetition);
+                sum = sum.add(InvalidIds.sumInvalidIdsAsBigInteger(productIdRange, repetition));
+            }
+            System.out.printf("%s: adding up all %d invalid IDs produces %d.%n", repetition, count, sum);
+        }
+        // TWICE 23560874270
+        // AT_LEAST_TWICE 44143124633
+    }
+
+    private static List<ProductIdRange> parseProductIdRanges(String s) {
+        return Arrays.stream(s.trim().split(","))
+                .map(it -> it.split("-"))
+                .map(it -> new ProductIdRange(it[0], it[1]))
+                .toList();
+    }
+
+    @SuppressWarnings("SameParameterValue")
+    private static String readInputAsString(String name) throws IOException {
+        try (var in = new BufferedReader(new InputStreamReader(requireNonNull(Day2ClosedForm.class.getResourceAsStream(name)), UTF_8))) {
+            return in.readAllAsString();
+        }
+    }
+
+}
@@ -3,16 +3,18 @@ package spike;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Pattern;
+import java.util.stream.LongStream;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 public class Day2Part2 {
 
+    // -Dday2.regex=true checks the brute force path with the original regex
+    private static final boolean USE_REGEX = Boolean.getBoolean("day2.regex");
     private static final Pattern INVALID_ID_PATTERN = Pattern.compile("(.{1,9})\\1+");
 
     static void main() throws Exception {
@@ -23,18 +25,13 @@ public class Day2Part2 {
         System.out.println("productIdRanges = " + productIdRanges);
         long sum = 0;
         for (ProductIdRange productIdRange : productIdRanges) {
-            List<String> subListOfInvalidIds = new ArrayList<>();
-            long first = productIdRange.firstIdAsLong();
-            long last = productIdRange.lastIdAsLong();
-            for (long i = first; i <= last; i++) {
-                String s = Long.toString(i);
-                if (INVALID_ID_PATTERN.matcher(s).matches()) {
-                    subListOfInvalidIds.add(s);
-                    sum += i;
-                }
-            }
-            System.out.printf("%s has %d invalid IDs, %s.%n", productIdRange, subListOfInvalidIds.size(), subListOfInvalidIds);
+            long[] invalidIds = InvalidIds.invalidIds(productIdRange, InvalidIds.Repetition.AT_LEAST_TWICE);
+//            long[] invalidIds = bruteForceInvalidIds(productIdRange);
+            sum += LongStream.of(invalidIds).sum();
+            System.out.printf("%s has %d invalid IDs, %s.%n", productIdRange, invalidIds.length, Arrays.toString(invalidIds));
         }
+//        sum = RangePipeline.evaluate(productIdRanges, range -> InvalidIds.sumInvalidIds(range, InvalidIds.Repetition.AT_LEAST_TWICE),
+//                Runtime.getRuntime().availableProcessors());
         System.out.printf("Adding up all the invalid IDs in this example produces %d.%n", sum);
         // 44143124633
     }
@@ -53,20 +50,23 @@ public class Day2Part2 {
         }
     }
 
-    private record ProductIdRange(String firstId, String lastId) {
-
-        long firstIdAsLong() {
-            return Long.parseLong(firstId);
-        }
-
-        long lastIdAsLong() {
-            return Long.parseLong(lastId);
-        }
+    static long[] bruteForceInvalidIds(ProductIdRange productIdRange) {
+        return bruteForceInvalidIds(productIdRange, USE_REGEX);
+    }
 
-        @Override
-        public String toString() {
-            return firstId + '-' + lastId;
+    static long[] bruteForceInvalidIds(ProductIdRange productIdRange, boolean useRegex) {
+        LongStream.Builder invalidIds = LongStream.builder();
+        long first = productIdRange.firstIdAsLong();
+        long last = productIdRange.lastIdAsLong();
+        for (long i = first; i <= last; i++) {
+            boolean invalid = useRegex
+                    ? INVALID_ID_PATTERN.matcher(Long.toString(i)).matches()
+                    : InvalidIds.isInvalid(i, InvalidIds.Repetition.AT_LEAST_TWICE);
+            if (invalid) {
+                invalidIds.add(i);
+            }
         }
+        return invalidIds.build().toArray();
     }
 
 }
@@ -0,0 +1,85 @@
+package spike;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Evaluates the same overlapping ranges with the brute force regex verifier serially and on 1 to N cores,
+ * after coalescing and sharding. Every thread count is checked against the serial evaluation before it is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day2ScalingBenchmark {
+    private static final long TOTAL_WIDTH = 20_000_000;
+    private static final ToLongFunction<ProductIdRange> EVALUATOR = range -> LongStream.of(Day2Part2.bruteForceInvalidIds(range, true)).sum();
+
+    @Param("1")
+    public int parallelism;
+
+    private List<ProductIdRange> ranges;
+
+    /**
+     * Runs every power of two below the number of cores and the number of cores itself.
+     */
+    static void main() throws RunnerException {
+        int processors = Runtime.getRuntime().availableProcessors();
+        IntStream.Builder parallelisms = IntStream.builder();
+        for (int parallelism = 1; parallelism < processors; parallelism *= 2) {
+            parallelisms.add(parallelism);
+        }
+        String[] values = parallelisms.add(processors).build().mapToObj(Integer::toString).toArray(String[]::new);
+        new Runner(new OptionsBuilder()
+                .include(Day2ScalingBenchmark.class.getSimpleName())
+                .param("parallelism", values)
+                .build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2025);
+        ranges = IntStream.range(0, 40)
+                .mapToObj(_ -> {
+                    long first = random.nextLong(1_000, 1_000_000_000);
+                    return ProductIdRange.of(first, first + random.nextLong(TOTAL_WIDTH / 20));
+                })
+                .toList();
+        long expected = RangePipeline.evaluateSerially(ranges, EVALUATOR);
+        long actual = RangePipeline.evaluate(ranges, EVALUATOR, parallelism);
+        if (actual != expected) {
+            throw new IllegalStateException("Expected " + expected + " but was " + actual + " with " + parallelism + " threads");
+        }
+    }
+
+    @Benchmark
+    public long serial() {
+        return RangePipeline.evaluateSerially(ranges, EVALUATOR);
+    }
+
+    @Benchmark
+    public long parallel() {
+        return RangePipeline.evaluate(ranges, EVALUATOR, parallelism);
+    }
+}
@@ -0,0 +1,43 @@
+package spike;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the brute force verifier with the regex and with the arithmetic period check on 5 000 000 IDs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class Day2VerifierBenchmark {
+    private static final ProductIdRange RANGE = ProductIdRange.of(1_000_000_000L, 1_005_000_000L);
+
+    static void main() throws RunnerException {
+        new Runner(new OptionsBuilder().include(Day2VerifierBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Benchmark
+    public long[] regex() {
+        return Day2Part2.bruteForceInvalidIds(RANGE, true);
+    }
+
+    @Benchmark
+    public long[] arithmetic() {
+        return Day2Part2.bruteForceInvalidIds(RANGE, false);
+    }
+}
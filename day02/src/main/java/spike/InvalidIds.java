@@ -0,0 +1,201 @@
+package spike;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Enumerates the invalid IDs of a {@link ProductIdRange} without looking at the valid ones.
+ * An ID of {@code length} digits made of a block of {@code blockLength} digits repeated is
+ * {@code seed * multiplier}, with {@code multiplier = 1 + 10^blockLength + 10^(2 * blockLength) + ...},
+ * so for every length and block length only the seeds whose product falls inside the range are visited.
+ * <p>
+ * When only the count or the sum is needed, the seeds are not visited at all: they form a contiguous interval,
+ * so their sum is an arithmetic series. IDs with several periods are corrected for with Möbius inversion
+ * over the divisors of the length.
+ */
+final class InvalidIds {
+    static final int MAX_LENGTH = 19;
+    private static final long[] POWERS_OF_TEN = LongStream.iterate(1, it -> it * 10).limit(MAX_LENGTH).toArray();
+
+    enum Repetition {
+        /** A block repeated exactly twice, like {@code 6464}. */
+        TWICE,
+        /** A block repeated two or more times, like {@code 6464} or {@code 646464}. */
+        AT_LEAST_TWICE
+    }
+
+    private InvalidIds() {
+    }
+
+    /**
+     * Returns the invalid IDs of the range in ascending order. Every ID is listed once,
+     * even when it repeats several block lengths (like {@code 111111}).
+     */
+    static long[] invalidIds(ProductIdRange range, Repetition repetition) {
+        long first = range.firstIdAsLong();
+        long last = range.lastIdAsLong();
+        LongStream.Builder invalidIds = LongStream.builder();
+        for (int length = Math.max(2, length(first)); length <= length(last); length++) {
+            for (int blockLength = 1; blockLength <= length / 2; blockLength++) {
+                if (!isBlockLength(length, blockLength, repetition)) {
+                    continue;
+                }
+                long multiplier = multiplier(length, blockLength);
+                long firstSeed = Math.max(POWERS_OF_TEN[blockLength - 1], Math.ceilDiv(first, multiplier));
+                long lastSeed = Math.min(POWERS_OF_TEN[blockLength] - 1, last / multiplier);
+                for (long seed = firstSeed; seed <= lastSeed; seed++) {
+                    // an ID repeating a shorter period is only listed for that shortest period
+                    if (repetition == Repetition.TWICE || !isRepeating(seed, blockLength)) {
+                        invalidIds.add(seed * multiplier);
+                    }
+                }
+            }
+        }
+        long[] result = invalidIds.build().toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Checks a single ID without any String or regex: an ID of {@code length} digits repeats a block of
+     * {@code blockLength} digits exactly when it is divisible by {@link #multiplier(int, int)}.
+     */
+    static boolean isInvalid(long id, Repetition repetition) {
+        int length = length(id);
+        for (int blockLength = 1; blockLength <= length / 2; blockLength++) {
+            if (isBlockLength(length, blockLength, repetition) && id % multiplier(length, blockLength) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static long countInvalidIds(ProductIdRange range, Repetition repetition) {
+        long count = 0;
+        for (Term term : terms(range, repetition)) {
+            count += term.sign() * term.seedCount();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of the invalid IDs of the range, in O(length²) whatever the width of the range.
+     *
+     * @throws ArithmeticException when the sum does not fit in a {@code long}, see {@link #sumInvalidIdsAsBigInteger}
+     */
+    static long sumInvalidIds(ProductIdRange range, Repetition repetition) {
+        long sum = 0;
+        for (Term term : terms(range, repetition)) {
+            long n = term.seedCount();
+            long seedSum = term.firstSeed() + term.lastSeed();
+            long series = n % 2 == 0 ? Math.multiplyExact(n / 2, seedSum) : Math.multiplyExact(n, seedSum / 2);
+            sum = Math.addExact(sum, term.sign() * Math.multiplyExact(term.multiplier(), series));
+        }
+        return sum;
+    }
+
+    static BigInteger sumInvalidIdsAsBigInteger(ProductIdRange range, Repetition repetition) {
+        BigInteger sum = BigInteger.ZERO;
+        for (Term term : terms(range, repetition)) {
+            BigInteger series = BigInteger.valueOf(term.firstSeed())
+                    .add(BigInteger.valueOf(term.lastSeed()))
+                    .multiply(BigInteger.valueOf(term.seedCount()))
+                    .shiftRight(1);
+            sum = sum.add(BigInteger.valueOf(term.sign() * term.multiplier()).multiply(series));
+        }
+        return sum;
+    }
+
+    /**
+     * All IDs {@code seed * multiplier} with a seed in {@code [firstSeed, lastSeed]}, to be added ({@code sign} 1)
+     * or subtracted ({@code sign} -1).
+     */
+    private record Term(long multiplier, long firstSeed, long lastSeed, int sign) {
+        long seedCount() {
+            return lastSeed - firstSeed + 1;
+        }
+    }
+
+    private static List<Term> terms(ProductIdRange range, Repetition repetition) {
+        long first = range.firstIdAsLong();
+        long last = range.lastIdAsLong();
+        List<Term> terms = new ArrayList<>();
+        for (int length = Math.max(2, length(first)); length <= length(last); length++) {
+            for (int blockLength = 1; blockLength <= length / 2; blockLength++) {
+                if (!isBlockLength(length, blockLength, repetition)) {
+                    continue;
+                }
+                // IDs with a period of blockLength are also counted for every multiple of blockLength that
+                // divides length, -mobius(length / blockLength) makes every ID count exactly once
+                int sign = repetition == Repetition.TWICE ? 1 : -mobius(length / blockLength);
+                if (sign == 0) {
+                    continue;
+                }
+                long multiplier = multiplier(length, blockLength);
+                long firstSeed = Math.max(POWERS_OF_TEN[blockLength - 1], Math.ceilDiv(first, multiplier));
+                long lastSeed = Math.min(POWERS_OF_TEN[blockLength] - 1, last / multiplier);
+                if (firstSeed <= lastSeed) {
+                    terms.add(new Term(multiplier, firstSeed, lastSeed, sign));
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static int mobius(int n) {
+        int result = 1;
+        for (int factor = 2; factor * factor <= n; factor++) {
+            if (n % factor == 0) {
+                n /= factor;
+                if (n % factor == 0) {
+                    return 0;
+                }
+                result = -result;
+            }
+        }
+        return n > 1 ? -result : result;
+    }
+
+    static boolean isBlockLength(int length, int blockLength, Repetition repetition) {
+        return switch (repetition) {
+            case TWICE -> length == 2 * blockLength;
+            case AT_LEAST_TWICE -> blockLength < length && length % blockLength == 0;
+        };
+    }
+
+    /**
+     * Returns {@code 1 + 10^blockLength + 10^(2 * blockLength) + ...} with {@code length / blockLength} terms.
+     */
+    static long multiplier(int length, int blockLength) {
+        long multiplier = 0;
+        for (int i = 0; i < length; i += blockLength) {
+            multiplier += POWERS_OF_TEN[i];
+        }
+        return multiplier;
+    }
+
+    static long powerOfTen(int exponent) {
+        return POWERS_OF_TEN[exponent];
+    }
+
+    static int length(long id) {
+        int length = 1;
+        while (length < MAX_LENGTH && id >= POWERS_OF_TEN[length]) {
+            length++;
+        }
+        return length;
+    }
+
+    // whether the digits of value (exactly length digits) are a shorter block repeated
+    private static boolean isRepeating(long value, int length) {
+        for (int blockLength = 1; blockLength <= length / 2; blockLength++) {
+            if (length % blockLength == 0 && value % multiplier(length, blockLength) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
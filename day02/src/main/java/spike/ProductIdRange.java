@@ -0,0 +1,21 @@
+package spike;
+
+record ProductIdRange(String firstId, String lastId) {
+
+    static ProductIdRange of(long firstId, long lastId) {
+        return new ProductIdRange(Long.toString(firstId), Long.toString(lastId));
+    }
+
+    long firstIdAsLong() {
+        return Long.parseLong(firstId);
+    }
+
+    long lastIdAsLong() {
+        return Long.parseLong(lastId);
+    }
+
+    @Override
+    public String toString() {
+        return firstId + '-' + lastId;
+    }
+}
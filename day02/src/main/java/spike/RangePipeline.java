@@ -0,0 +1,137 @@
+package spike;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToLongFunction;
+
+/**
+ * Prepares product ID ranges for evaluation and evaluates them on a fork/join pool.
+ * Overlapping and adjacent ranges are merged first, so no ID is evaluated twice,
+ * and every ID length of a range is cut into a few shards of equal width per thread,
+ * so every shard has a single ID length and the shards of a length do equal work.
+ * Shards are plain {@code long} bounds; only the shard being evaluated is turned into a {@link ProductIdRange}.
+ */
+final class RangePipeline {
+    static final int SHARDS_PER_THREAD = 4;
+
+    private RangePipeline() {
+    }
+
+    static List<ProductIdRange> coalesce(List<ProductIdRange> ranges) {
+        List<ProductIdRange> sorted = ranges.stream()
+                .sorted(Comparator.comparingLong(ProductIdRange::firstIdAsLong))
+                .toList();
+        List<ProductIdRange> coalesced = new ArrayList<>();
+        boolean hasCurrent = false;
+        long first = 0;
+        long last = 0;
+        for (ProductIdRange range : sorted) {
+            long next = range.firstIdAsLong();
+            // next - 1 instead of last + 1, which wraps when last is Long.MAX_VALUE
+            if (hasCurrent && (next == 0 || next - 1 <= last)) {
+                last = Math.max(last, range.lastIdAsLong());
+                continue;
+            }
+            if (hasCurrent) {
+                coalesced.add(ProductIdRange.of(first, last));
+            }
+            hasCurrent = true;
+            first = next;
+            last = range.lastIdAsLong();
+        }
+        if (hasCurrent) {
+            coalesced.add(ProductIdRange.of(first, last));
+        }
+        return coalesced;
+    }
+
+    /**
+     * Cuts every ID length of every range into at most {@code shardsPerLength} shards of equal width.
+     */
+    static List<Shard> shard(List<ProductIdRange> ranges, int shardsPerLength) {
+        if (shardsPerLength < 1) {
+            throw new IllegalArgumentException("Invalid shard count: " + shardsPerLength);
+        }
+        List<Shard> shards = new ArrayList<>();
+        for (ProductIdRange range : ranges) {
+            long first = range.firstIdAsLong();
+            long last = range.lastIdAsLong();
+            while (true) {
+                int length = InvalidIds.length(first);
+                long lastOfLength = length < InvalidIds.MAX_LENGTH ? InvalidIds.powerOfTen(length) - 1 : Long.MAX_VALUE;
+                long segmentLast = Math.min(last, lastOfLength);
+                // last - first instead of the width, which overflows for the widest segments
+                long shardWidth = (segmentLast - first) / shardsPerLength + 1;
+                long shardFirst = first;
+                while (segmentLast - shardFirst >= shardWidth) {
+                    shards.add(new Shard(shardFirst, shardFirst + shardWidth - 1));
+                    shardFirst += shardWidth;
+                }
+                shards.add(new Shard(shardFirst, segmentLast));
+                if (segmentLast == last) {
+                    break;
+                }
+                first = segmentLast + 1;
+            }
+        }
+        return shards;
+    }
+
+    /**
+     * Coalesces and shards the ranges and adds up {@code evaluator} over all shards using {@code parallelism} threads.
+     * The evaluator must be additive over adjacent ranges, like a count or a sum of invalid IDs.
+     */
+    static long evaluate(List<ProductIdRange> ranges, ToLongFunction<ProductIdRange> evaluator, int parallelism) {
+        List<Shard> shards = shard(coalesce(ranges), SHARDS_PER_THREAD * parallelism);
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            return pool.invoke(new EvaluateTask(shards, evaluator, 0, shards.size()));
+        }
+    }
+
+    static long evaluateSerially(List<ProductIdRange> ranges, ToLongFunction<ProductIdRange> evaluator) {
+        long total = 0;
+        for (ProductIdRange range : coalesce(ranges)) {
+            total += evaluator.applyAsLong(range);
+        }
+        return total;
+    }
+
+    record Shard(long first, long last) {
+        ProductIdRange toRange() {
+            return ProductIdRange.of(first, last);
+        }
+    }
+
+    private static final class EvaluateTask extends RecursiveTask<Long> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Shard> shards;
+        private final transient ToLongFunction<ProductIdRange> evaluator;
+        private final int from;
+        private final int to;
+
+        EvaluateTask(List<Shard> shards, ToLongFunction<ProductIdRange> evaluator, int from, int to) {
+            this.shards = shards;
+            this.evaluator = evaluator;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= 1) {
+                return from < to ? evaluator.applyAsLong(shards.get(from).toRange()) : 0L;
+            }
+            int middle = (from + to) >>> 1;
+            EvaluateTask left = new EvaluateTask(shards, evaluator, from, middle);
+            left.fork();
+            long right = new EvaluateTask(shards, evaluator, middle, to).compute();
+            return left.join() + right;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvalidIdsTest {
+    @ParameterizedTest
+    @CsvSource(textBlock = """
+            11, 22, '11,22', '11,22'
+            95, 115, '99', '99,111'
+            998, 1012, '1010', '999,1010'
+            1188511880, 1188511890, '1188511885', '1188511885'
+            222220, 222224, '222222', '222222'
+            1698522, 1698528, '', ''
+            446443, 446449, '446446', '446446'
+            38593856, 38593862, '38593859', '38593859'
+            565653, 565659, '', '565656'
+            824824821, 824824827, '', '824824824'
+            2121212118, 2121212124, '', '2121212121'
+            """)
+    void shouldFindInvalidIdsOfExample(String firstId, String lastId, String expectedTwice, String expectedAtLeastTwice) {
+        ProductIdRange range = new ProductIdRange(firstId, lastId);
+        assertThat(InvalidIds.invalidIds(range, InvalidIds.Repetition.TWICE)).containsExactly(parse(expectedTwice));
+        assertThat(InvalidIds.invalidIds(range, InvalidIds.Repetition.AT_LEAST_TWICE)).containsExactly(parse(expectedAtLeastTwice));
+    }
+
+    @Test
+    void shouldMatchBruteForceForRandomRanges() {
+        Random random = new Random(2025);
+        for (int i = 0; i < 1_000; i++) {
+            long first = random.nextLong(1, 10_000_000);
+            long last = first + random.nextLong(0, 50_000);
+            ProductIdRange range = new ProductIdRange(Long.toString(first), Long.toString(last));
+            assertThat(InvalidIds.invalidIds(range, InvalidIds.Repetition.TWICE)).containsExactly(Day2Part1.bruteForceInvalidIds(range, true));
+            assertThat(InvalidIds.invalidIds(range, InvalidIds.Repetition.AT_LEAST_TWICE)).containsExactly(Day2Part2.bruteForceInvalidIds(range, true));
+        }
+    }
+
+    @Test
+    void shouldCheckPeriodLikeTheRegex() {
+        // invalid IDs are seed * multiplier, so random ranges would hardly ever contain one; look around those instead
+        Random random = new Random(2025);
+        for (int length = 2; length <= InvalidIds.MAX_LENGTH; length++) {
+            for (int blockLength = 1; blockLength < length; blockLength++) {
+                if (length % blockLength != 0) {
+                    continue;
+                }
+                long multiplier = InvalidIds.multiplier(length, blockLength);
+                long lowestSeed = InvalidIds.powerOfTen(blockLength - 1);
+                long highestSeed = Math.min(InvalidIds.powerOfTen(blockLength) - 1, (Long.MAX_VALUE - 100) / multiplier);
+                if (highestSeed < lowestSeed) {
+                    continue;
+                }
+                for (int i = 0; i < 3; i++) {
+                    long center = random.nextLong(lowestSeed, highestSeed + 1) * multiplier;
+                    ProductIdRange range = ProductIdRange.of(Math.max(1, center - 100), center + 100);
+                    assertThat(Day2Part1.bruteForceInvalidIds(range, false)).containsExactly(Day2Part1.bruteForceInvalidIds(range, true));
+                    assertThat(Day2Part2.bruteForceInvalidIds(range, false)).containsExactly(Day2Part2.bruteForceInvalidIds(range, true));
+                }
+            }
+        }
+        ProductIdRange small = ProductIdRange.of(1, 100_000);
+        assertThat(Day2Part1.bruteForceInvalidIds(small, false)).containsExactly(Day2Part1.bruteForceInvalidIds(small, true));
+        assertThat(Day2Part2.bruteForceInvalidIds(small, false)).containsExactly(Day2Part2.bruteForceInvalidIds(small, true));
+    }
+
+    @Test
+    void shouldListIdsWithSeveralPeriodsOnce() {
+        ProductIdRange range = new ProductIdRange("111111", "111111");
+        assertThat(InvalidIds.invalidIds(range, InvalidIds.Repetition.AT_LEAST_TWICE)).containsExactly(111111);
+    }
+
+    @Test
+    void shouldSumInvalidIdsWithoutEnumeratingThem() {
+        Random random = new Random(2025);
+        for (int i = 0; i < 1_000; i++) {
+            long first = random.nextLong(1, 1_000_000_000_000L);
+            long last = first + random.nextLong(0, 100_000_000);
+            ProductIdRange range = new ProductIdRange(Long.toString(first), Long.toString(last));
+            for (InvalidIds.Repetition repetition : InvalidIds.Repetition.values()) {
+                long[] invalidIds = InvalidIds.invalidIds(range, repetition);
+                assertThat(InvalidIds.countInvalidIds(range, repetition)).isEqualTo(invalidIds.length);
+                assertThat(InvalidIds.sumInvalidIds(range, repetition)).isEqualTo(LongStream.of(invalidIds).sum());
+                assertThat(InvalidIds.sumInvalidIdsAsBigInteger(range, repetition)).isEqualTo(BigInteger.valueOf(LongStream.of(invalidIds).sum()));
+            }
+        }
+    }
+
+    @Test
+    void shouldSumBeyondLong() {
+        ProductIdRange range = new ProductIdRange("1", Long.toString(Long.MAX_VALUE));
+        assertThatThrownBy(() -> InvalidIds.sumInvalidIds(range, InvalidIds.Repetition.TWICE)).isInstanceOf(ArithmeticException.class);
+        // sum over every length 2k of (10^(k-1) + 10^k - 1) * 9 * 10^(k-1) / 2 * (10^k + 1)
+        BigInteger expected = BigInteger.ZERO;
+        for (int k = 1; k <= 9; k++) {
+            BigInteger low = BigInteger.TEN.pow(k - 1);
+            BigInteger high = BigInteger.TEN.pow(k).subtract(BigInteger.ONE);
+            BigInteger series = low.add(high).multiply(high.subtract(low).add(BigInteger.ONE)).shiftRight(1);
+            expected = expected.add(series.multiply(BigInteger.TEN.pow(k).add(BigInteger.ONE)));
+        }
+        assertThat(InvalidIds.sumInvalidIdsAsBigInteger(range, InvalidIds.Repetition.TWICE)).isEqualTo(expected);
+    }
+
+    private static long[] parse(String ids) {
+        return ids.isEmpty() ? new long[0] : Arrays.stream(ids.split(",")).mapToLong(Long::parseLong).toArray();
+    }
+}
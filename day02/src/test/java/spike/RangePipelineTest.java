@@ -0,0 +1,71 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RangePipelineTest {
+    @Test
+    void shouldCoalesceOverlappingAndAdjacentRanges() {
+        List<ProductIdRange> ranges = List.of(
+                ProductIdRange.of(50, 60),
+                ProductIdRange.of(10, 20),
+                ProductIdRange.of(15, 30),
+                ProductIdRange.of(31, 40),
+                ProductIdRange.of(42, 45));
+        assertThat(RangePipeline.coalesce(ranges)).containsExactly(
+                ProductIdRange.of(10, 40),
+                ProductIdRange.of(42, 45),
+                ProductIdRange.of(50, 60));
+    }
+
+    @Test
+    void shouldCoalesceRangesEndingAtMaxValue() {
+        List<ProductIdRange> ranges = List.of(
+                ProductIdRange.of(1, Long.MAX_VALUE),
+                ProductIdRange.of(5, 10));
+        assertThat(RangePipeline.coalesce(ranges)).containsExactly(ProductIdRange.of(1, Long.MAX_VALUE));
+    }
+
+    @Test
+    void shouldShardEveryLengthIntoEqualParts() {
+        assertThat(RangePipeline.shard(List.of(ProductIdRange.of(95, 1_250)), 2)).containsExactly(
+                new RangePipeline.Shard(95, 97),
+                new RangePipeline.Shard(98, 99),
+                new RangePipeline.Shard(100, 549),
+                new RangePipeline.Shard(550, 999),
+                new RangePipeline.Shard(1_000, 1_125),
+                new RangePipeline.Shard(1_126, 1_250));
+    }
+
+    @Test
+    void shouldKeepShardCountIndependentOfWidth() {
+        List<RangePipeline.Shard> shards = RangePipeline.shard(List.of(ProductIdRange.of(1, Long.MAX_VALUE)), 16);
+        assertThat(shards).hasSizeLessThanOrEqualTo(16 * InvalidIds.MAX_LENGTH);
+        assertThat(shards.getFirst().first()).isEqualTo(1);
+        assertThat(shards.getLast().last()).isEqualTo(Long.MAX_VALUE);
+        for (int i = 1; i < shards.size(); i++) {
+            assertThat(shards.get(i).first()).isEqualTo(shards.get(i - 1).last() + 1);
+        }
+    }
+
+    @Test
+    void shouldMatchSerialEvaluation() {
+        Random random = new Random(2025);
+        List<ProductIdRange> ranges = IntStream.range(0, 50)
+                .mapToObj(_ -> {
+                    long first = random.nextLong(1, 100_000_000_000L);
+                    return ProductIdRange.of(first, first + random.nextLong(10_000_000_000L));
+                })
+                .toList();
+        for (InvalidIds.Repetition repetition : InvalidIds.Repetition.values()) {
+            long expected = RangePipeline.evaluateSerially(ranges, range -> InvalidIds.sumInvalidIds(range, repetition));
+            long actual = RangePipeline.evaluate(ranges, range -> InvalidIds.sumInvalidIds(range, repetition), 4);
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package spike;
+
+/**
+ * Index of a single bank that answers the best joltage for any number of batteries in O(batteries).
+ * For every position it stores where each digit 0-9 occurs next, so picking a battery is trying
+ * the digits from 9 down until one occurs early enough to leave room for the remaining batteries.
+ */
+final class BankIndex {
+    private static final int DIGITS = 10;
+
+    private final int length;
+    // nextOccurrence[position * DIGITS + digit] is the first index >= position holding digit, or length
+    private final int[] nextOccurrence;
+
+    BankIndex(CharSequence bank) {
+        this.length = bank.length();
+        this.nextOccurrence = new int[(length + 1) * DIGITS];
+        for (int digit = 0; digit < DIGITS; digit++) {
+            nextOccurrence[length * DIGITS + digit] = length;
+        }
+        for (int position = length - 1; position >= 0; position--) {
+            System.arraycopy(nextOccurrence, (position + 1) * DIGITS, nextOccurrence, position * DIGITS, DIGITS);
+            nextOccurrence[position * DIGITS + (bank.charAt(position) - '0')] = position;
+        }
+    }
+
+    int length() {
+        return length;
+    }
+
+    long maximumJoltage(int batteries) {
+        if (batteries < 1 || batteries > Joltage.MAX_BATTERIES || batteries > length) {
+            throw new IllegalArgumentException("Invalid number of batteries: " + batteries + " for a bank of " + length);
+        }
+        long joltage = 0;
+        int position = 0;
+        for (int remaining = batteries; remaining > 0; remaining--) {
+            int lastAllowed = length - remaining;
+            for (int digit = DIGITS - 1; digit >= 0; digit--) {
+                int next = nextOccurrence[position * DIGITS + digit];
+                if (next <= lastAllowed) {
+                    joltage = joltage * 10 + digit;
+                    position = next + 1;
+                    break;
+                }
+            }
+        }
+        return joltage;
+    }
+
+    long[] maximumJoltages(int... batteries) {
+        long[] joltages = new long[batteries.length];
+        for (int i = 0; i < batteries.length; i++) {
+            joltages[i] = maximumJoltage(batteries[i]);
+        }
+        return joltages;
+    }
+}
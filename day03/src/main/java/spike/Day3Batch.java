@@ -0,0 +1,36 @@
+package spike;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+public class Day3Batch {
+    static void main(String[] args) throws Exception {
+//        List<String> banks = readInputLines("/example.txt");
+        List<String> banks = readInputLines("/input.txt");
+        int[] batteries = {2, 12};
+        long[] sums = new long[batteries.length];
+        for (String bank : banks) {
+            long[] joltages = new BankIndex(bank).maximumJoltages(batteries);
+            Arrays.setAll(sums, i -> sums[i] + joltages[i]);
+        }
+        for (int i = 0; i < batteries.length; i++) {
+            System.out.printf("The total output joltage with %d batteries is %d\n", batteries[i], sums[i]);
+        }
+        // 2: 17324
+        // 12: 171846613143331
+    }
+
+    @SuppressWarnings("SameParameterValue")
+    private static List<String> readInputLines(String name) throws IOException {
+        try (var in = new BufferedReader(new InputStreamReader(requireNonNull(Day3Batch.class.getResourceAsStream(name)), UTF_8))) {
+            return in.lines().toList();
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package spike;
+
+import java.nio.file.Path;
+
+public class Day3Part2Streaming {
+    static void main(String[] args) throws Exception {
+//        Path input = JoltageStream.resourcePath("/example.txt");
+        Path input = JoltageStream.resourcePath("/input.txt");
+        JoltageSum sum = JoltageStream.sum(input, 12);
+        System.out.printf("The total output joltage is %s\n", sum.toBigInteger());
+        // 171846613143331
+    }
+}
@@ -0,0 +1,61 @@
+package spike;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntUnaryOperator;
+
+final class Joltage {
+    static final int MAX_BATTERIES = 18;
+
+    private Joltage() {
+    }
+
+    /**
+     * Returns the largest joltage made by turning on exactly {@code batteries} batteries of the bank,
+     * which is the lexicographically largest subsequence of that length.
+     */
+    static long maximumJoltage(CharSequence bank, int batteries) {
+        return maximumJoltage(bank::charAt, 0, bank.length(), batteries, new byte[MAX_BATTERIES]);
+    }
+
+    /**
+     * Same as {@link #maximumJoltage(CharSequence, int)} for the ASCII digits in {@code [from, to)} of a buffer,
+     * using {@code stack} (at least {@code batteries} long) as scratch space so no stack is allocated per bank.
+     */
+    static long maximumJoltage(ByteBuffer buffer, int from, int to, int batteries, byte[] stack) {
+        return maximumJoltage(buffer::get, from, to, batteries, stack);
+    }
+
+    /**
+     * A single pass keeps a monotonic stack of digits: a digit replaces every smaller digit before it,
+     * as long as enough digits are left to fill the remaining positions.
+     */
+    private static long maximumJoltage(IntUnaryOperator bank, int from, int to, int batteries, byte[] stack) {
+        int length = to - from;
+        if (batteries < 1 || batteries > MAX_BATTERIES || batteries > length) {
+            throw new IllegalArgumentException("Invalid number of batteries: " + batteries + " for a bank of " + length);
+        }
+        int size = 0;
+        int droppable = length - batteries;
+        for (int i = from; i < to; i++) {
+            int c = bank.applyAsInt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid battery at " + (i - from) + ": " + (char) c);
+            }
+            byte digit = (byte) (c - '0');
+            while (size > 0 && droppable > 0 && stack[size - 1] < digit) {
+                size--;
+                droppable--;
+            }
+            if (size < batteries) {
+                stack[size++] = digit;
+            } else {
+                droppable--;
+            }
+        }
+        long joltage = 0;
+        for (int i = 0; i < batteries; i++) {
+            joltage = joltage * 10 + stack[i];
+        }
+        return joltage;
+    }
+}
@@ -0,0 +1,97 @@
+package spike;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Sums the joltage of every bank in a file without creating a String or BigInteger per bank.
+ * The file is cut into chunks at line boundaries, every chunk is memory mapped and scored on its own thread
+ * into its own {@link JoltageSum}, and the partial sums are combined at the end.
+ */
+final class JoltageStream {
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+    private JoltageStream() {
+    }
+
+    static Path resourcePath(String name) throws URISyntaxException {
+        return Path.of(requireNonNull(JoltageStream.class.getResource(name)).toURI());
+    }
+
+    static JoltageSum sum(Path input, int batteries) throws IOException {
+        int chunks = Runtime.getRuntime().availableProcessors() * 4;
+        long[] boundaries = lineBoundaries(input, chunks);
+        return IntStream.range(0, boundaries.length - 1)
+                .parallel()
+                .mapToObj(chunk -> sum(input, boundaries[chunk], boundaries[chunk + 1], batteries))
+                .collect(JoltageSum::new, JoltageSum::add, JoltageSum::add);
+    }
+
+    private static JoltageSum sum(Path input, long start, long end, int batteries) {
+        JoltageSum sum = new JoltageSum();
+        byte[] stack = new byte[batteries];
+        try (FileChannel channel = FileChannel.open(input, READ)) {
+            MappedByteBuffer buffer = channel.map(READ_ONLY, start, end - start);
+            int lineStart = 0;
+            for (int i = 0; i <= buffer.limit(); i++) {
+                if (i == buffer.limit() || buffer.get(i) == '\n') {
+                    int lineEnd = i > lineStart && buffer.get(i - 1) == '\r' ? i - 1 : i;
+                    if (lineEnd > lineStart) {
+                        sum.add(Joltage.maximumJoltage(buffer, lineStart, lineEnd, batteries, stack));
+                    }
+                    lineStart = i + 1;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sum;
+    }
+
+    // splits the file in roughly equal parts, each ending right after a newline and never larger than MAX_CHUNK_SIZE
+    private static long[] lineBoundaries(Path input, int chunks) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, READ)) {
+            long size = channel.size();
+            long chunkSize = Math.clamp(size / chunks, 1, MAX_CHUNK_SIZE / 2);
+            LongStream.Builder boundaries = LongStream.builder().add(0);
+            ByteBuffer buffer = ByteBuffer.allocate(256);
+            long previous = 0;
+            while (size - previous > chunkSize) {
+                long boundary = nextLineStart(channel, previous + chunkSize, buffer);
+                if (boundary >= size) {
+                    break;
+                }
+                boundaries.add(boundary);
+                previous = boundary;
+            }
+            return boundaries.add(size).build().toArray();
+        }
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package spike;
+
+import java.math.BigInteger;
+
+/**
+ * Sum of non-negative joltages that stays a plain {@code long} until it would overflow,
+ * and only then spills into a 128-bit accumulator.
+ */
+final class JoltageSum {
+    private long sum;
+    // the spilled part as an unsigned 128-bit value, only used after an overflow
+    private long wideHigh;
+    private long wideLow;
+
+    void add(long joltage) {
+        if (sum > Long.MAX_VALUE - joltage) {
+            spill();
+        }
+        sum += joltage;
+    }
+
+    void add(JoltageSum other) {
+        add(other.sum);
+        addWide(other.wideHigh, other.wideLow);
+    }
+
+    boolean isWide() {
+        return wideHigh != 0 || wideLow != 0;
+    }
+
+    BigInteger toBigInteger() {
+        BigInteger wide = new BigInteger(Long.toUnsignedString(wideHigh))
+                .shiftLeft(Long.SIZE)
+                .add(new BigInteger(Long.toUnsignedString(wideLow)));
+        return wide.add(BigInteger.valueOf(sum));
+    }
+
+    private void spill() {
+        addWide(0, sum);
+        sum = 0;
+    }
+
+    private void addWide(long high, long low) {
+        long newLow = wideLow + low;
+        if (Long.compareUnsigned(newLow, wideLow) < 0) {
+            high++;
+        }
+        wideLow = newLow;
+        wideHigh += high;
+    }
+}
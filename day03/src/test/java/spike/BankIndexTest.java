@@ -0,0 +1,29 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BankIndexTest {
+    @Test
+    void shouldAnswerEveryNumberOfBatteries() {
+        BankIndex index = new BankIndex("818181911112111");
+        assertThat(index.maximumJoltages(2, 12, 15)).containsExactly(92, 888911112111L, 818181911112111L);
+    }
+
+    @Test
+    void shouldMatchJoltageForRandomBanks() {
+        Random random = new Random(2025);
+        for (int i = 0; i < 1_000; i++) {
+            String bank = random.ints(random.nextInt(1, 200), 0, 10)
+                    .collect(StringBuilder::new, StringBuilder::append, StringBuilder::append)
+                    .toString();
+            int[] batteries = IntStream.rangeClosed(1, Math.min(bank.length(), Joltage.MAX_BATTERIES)).toArray();
+            long[] expected = IntStream.of(batteries).mapToLong(it -> Joltage.maximumJoltage(bank, it)).toArray();
+            assertThat(new BankIndex(bank).maximumJoltages(batteries)).containsExactly(expected);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JoltageStreamTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldSumEveryBankOfTheFile() throws Exception {
+        Random random = new Random(2025);
+        List<String> banks = IntStream.range(0, 10_000)
+                .mapToObj(_ -> random.ints(random.nextInt(12, 120), 1, 10)
+                        .collect(StringBuilder::new, StringBuilder::append, StringBuilder::append)
+                        .toString())
+                .toList();
+        Path input = Files.write(tempDir.resolve("input.txt"), banks);
+        BigInteger expected = banks.stream()
+                .map(bank -> BigInteger.valueOf(Joltage.maximumJoltage(bank, 12)))
+                .reduce(BigInteger.ZERO, BigInteger::add);
+
+        JoltageSum actual = JoltageStream.sum(input, 12);
+
+        assertThat(actual.toBigInteger()).isEqualTo(expected);
+        assertThat(actual.isWide()).isFalse();
+    }
+
+    @Test
+    void shouldHandleCarriageReturnsAndMissingFinalNewline() throws Exception {
+        Path input = Files.writeString(tempDir.resolve("input.txt"), "987654321111111\r\n811111111111119\r\n234234234234278");
+        assertThat(JoltageStream.sum(input, 2).toBigInteger()).isEqualTo(BigInteger.valueOf(98 + 89 + 78));
+    }
+
+    @Test
+    void shouldSpillIntoWideSumOnOverflow() {
+        long joltage = 999_999_999_999_999_999L;
+        JoltageSum sum = new JoltageSum();
+        for (int i = 0; i < 100; i++) {
+            sum.add(joltage);
+        }
+        JoltageSum doubled = new JoltageSum();
+        doubled.add(sum);
+        doubled.add(sum);
+
+        assertThat(sum.isWide()).isTrue();
+        assertThat(sum.toBigInteger()).isEqualTo(BigInteger.valueOf(joltage).multiply(BigInteger.valueOf(100)));
+        assertThat(doubled.toBigInteger()).isEqualTo(BigInteger.valueOf(joltage).multiply(BigInteger.valueOf(200)));
+    }
+}
@@ -0,0 +1,68 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JoltageTest {
+    @ParameterizedTest
+    @CsvSource(textBlock = """
+            '987654321111111', 2, 98
+            '811111111111119', 2, 89
+            '234234234234278', 2, 78
+            '818181911112111', 2, 92
+            '987654321111111', 12, 987654321111
+            '811111111111119', 12, 811111111119
+            '234234234234278', 12, 434234234278
+            '818181911112111', 12, 888911112111
+            '818181911112111', 15, 818181911112111
+            """)
+    void shouldFindMaximumJoltage(String bank, int batteries, long expectedJoltage) {
+        assertThat(Joltage.maximumJoltage(bank, batteries)).isEqualTo(expectedJoltage);
+    }
+
+    @Test
+    void shouldRejectBanksWithAnythingButDigits() {
+        for (String bank : new String[]{"98765\r", "12a45", "12 45", "1234:"}) {
+            assertThatThrownBy(() -> Joltage.maximumJoltage(bank, 2)).isInstanceOf(IllegalArgumentException.class);
+            ByteBuffer buffer = ByteBuffer.wrap(bank.getBytes(StandardCharsets.US_ASCII));
+            assertThatThrownBy(() -> Joltage.maximumJoltage(buffer, 0, bank.length(), 2, new byte[2])).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void shouldMatchWindowScanForRandomBanks() {
+        Random random = new Random(2025);
+        for (int i = 0; i < 10_000; i++) {
+            String bank = random.ints(random.nextInt(1, 100), 1, 10)
+                    .collect(StringBuilder::new, StringBuilder::append, StringBuilder::append)
+                    .toString();
+            int batteries = random.nextInt(1, Math.min(bank.length(), Joltage.MAX_BATTERIES) + 1);
+            assertThat(Joltage.maximumJoltage(bank, batteries)).isEqualTo(windowScan(bank, batteries));
+        }
+    }
+
+    // picks the first largest digit that still leaves enough digits for the remaining batteries
+    private static long windowScan(String bank, int batteries) {
+        long joltage = 0;
+        int start = 0;
+        for (int remaining = batteries; remaining > 0; remaining--) {
+            int best = start;
+            for (int i = start; i <= bank.length() - remaining; i++) {
+                if (bank.charAt(i) > bank.charAt(best)) {
+                    best = i;
+                }
+            }
+            joltage = joltage * 10 + (bank.charAt(best) - '0');
+            start = best + 1;
+        }
+        return joltage;
+    }
+}
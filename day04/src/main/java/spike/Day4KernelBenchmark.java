@@ -0,0 +1,76 @@
+package spike;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares counting the removable rolls of a random grid cell by cell on a {@code BitSet},
+ * with the bit-sliced kernel and with the vector kernel.
+ * Both grids are built once per trial, so only the counting is measured.
+ * The forked JVMs run with {@code --add-modules jdk.incubator.vector}; without it the vector benchmark
+ * falls back to the bit-sliced kernel like {@link RowKernel#fromSystemProperty()} does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class Day4KernelBenchmark {
+    @Param("4000")
+    public int size;
+
+    private Day4Part1.Grid bitSetGrid;
+    private PackedGrid packedGrid;
+    private RowKernel vectorKernel;
+
+    static void main() throws RunnerException {
+        new Runner(new OptionsBuilder().include(Day4KernelBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2025);
+        List<String> lines = IntStream.range(0, size)
+                .mapToObj(_ -> random.ints(size, 0, 10)
+                        .mapToObj(it -> it < 6 ? "@" : ".")
+                        .collect(Collectors.joining()))
+                .toList();
+        bitSetGrid = Day4Part1.Grid.of(lines);
+        packedGrid = PackedGrid.of(lines);
+        vectorKernel = RowKernel.isVectorAvailable() ? new VectorRowKernel() : RowKernel.BIT_SLICED;
+    }
+
+    @Benchmark
+    public long scalar() {
+        return Day4Part1.countOneByOne(bitSetGrid);
+    }
+
+    @Benchmark
+    public long bitSliced() {
+        return packedGrid.countRemovable(RowKernel.BIT_SLICED);
+    }
+
+    @Benchmark
+    public long vector() {
+        return packedGrid.countRemovable(vectorKernel);
+    }
+}
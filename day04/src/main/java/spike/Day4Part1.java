@@ -14,31 +14,28 @@ public class Day4Part1 {
     static void main(String[] args) throws IOException {
 //        List<String> lines = readInputLines("/example.txt");
         List<String> lines = readInputLines("/input.txt");
-        int rows = lines.size();
-        int columns = lines.getFirst().length();
+        long count = PackedGrid.of(lines).countRemovable(RowKernel.fromSystemProperty());
+//        long count = countOneByOne(lines);
+        System.out.println("*** count = " + count);
+    }
 
-        Grid grid = new Grid(rows, columns);
-        for (int y = 0; y < rows; y++) {
-            String line = lines.get(y);
-            for (int x = 0; x < columns; x++) {
-                if (line.charAt(x) == '@') {
-                    grid.fill(x, y);
-                }
-            }
-        }
+    static int countOneByOne(List<String> lines) {
+        return countOneByOne(Grid.of(lines));
+    }
 
+    static int countOneByOne(Grid grid) {
         int count = 0;
-        for (int y = 0; y < rows; y++) {
-            for (int x = 0; x < columns; x++) {
+        for (int y = 0; y < grid.rows; y++) {
+            for (int x = 0; x < grid.columns; x++) {
                 if (grid.isRoll(x, y) && grid.countNeighbors(x, y) < 4) {
                     count++;
                 }
             }
         }
-        System.out.println("*** count = " + count);
+        return count;
     }
 
-    private static final class Grid {
+    static final class Grid {
         private final int rows;
         private final int columns;
         private final BitSet items;
@@ -49,6 +46,22 @@ public class Day4Part1 {
             items = new BitSet(rows * columns);
         }
 
+        static Grid of(List<String> lines) {
+            int rows = lines.size();
+            int columns = lines.getFirst().length();
+
+            Grid grid = new Grid(rows, columns);
+            for (int y = 0; y < rows; y++) {
+                String line = lines.get(y);
+                for (int x = 0; x < columns; x++) {
+                    if (line.charAt(x) == '@') {
+                        grid.fill(x, y);
+                    }
+                }
+            }
+            return grid;
+        }
+
         void fill(int x, int y) {
             items.set(index(x, y));
         }
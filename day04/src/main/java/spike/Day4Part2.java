@@ -3,17 +3,40 @@ package spike;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.lang.foreign.Arena;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.util.BitSet;
 import java.util.List;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 public class Day4Part2 {
-    static void main(String[] args) throws IOException {
-//        List<String> lines = readInputLines("/example.txt");
-        List<String> lines = readInputLines("/input.txt");
+    private static final byte ROLL = '@';
+
+    static void main(String[] args) throws IOException, URISyntaxException {
+//        Path input = OffHeapGrid.resourcePath("/example.txt");
+        Path input = OffHeapGrid.resourcePath("/input.txt");
+        long[] removalsPerWave;
+        try (Arena arena = Arena.ofConfined()) {
+            removalsPerWave = OffHeapGrid.load(input, arena, ROLL).peel(0, RowKernel.fromSystemProperty());
+        }
+//        List<String> lines = readInputLines("/input.txt");
+//        long[] removalsPerWave = RollPeeler.of(lines).peel();
+//        long[] removalsPerWave = PackedGrid.of(lines).peel(RowKernel.fromSystemProperty());
+//        long[] removalsPerWave = TiledPeeler.peel(PackedGrid.of(lines), TiledPeeler.DEFAULT_TILE_ROWS, Runtime.getRuntime().availableProcessors());
+        for (int wave = 0; wave < removalsPerWave.length; wave++) {
+            System.out.printf("wave %d removes %d rolls%n", wave + 1, removalsPerWave[wave]);
+        }
+        long count = LongStream.of(removalsPerWave).sum();
+//        long count = sweepUntilStable(lines);
+        System.out.println("*** count = " + count);
+    }
+
+    static int sweepUntilStable(List<String> lines) {
         int rows = lines.size();
         int columns = lines.getFirst().length();
 
@@ -40,7 +63,7 @@ public class Day4Part2 {
                 }
             }
         } while (changed);
-        System.out.println("*** count = " + count);
+        return count;
     }
 
     private static final class Grid {
@@ -0,0 +1,231 @@
+package spike;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Occupancy bitmaps of a character map, loaded in one sequential pass over a memory mapped file
+ * into an off-heap {@link MemorySegment} owned by the caller's {@link Arena}.
+ * Every marker byte gets its own plane, packed 64 cells to a {@code long} row by row like {@link PackedGrid},
+ * so no line is ever turned into a {@code String} and the heap stays empty however large the map is.
+ * The planes are counted and peeled right there in the segment, a few rows at a time.
+ * Blank lines are skipped; every other line must be as long as the first one.
+ */
+final class OffHeapGrid {
+    private final MemorySegment bitmap;
+    private final int planes;
+    private final int rowCapacity;
+    private final int rows;
+    private final int columns;
+    private final int wordsPerRow;
+
+    private OffHeapGrid(MemorySegment bitmap, int planes, int rowCapacity, int rows, int columns) {
+        this.bitmap = bitmap;
+        this.planes = planes;
+        this.rowCapacity = rowCapacity;
+        this.rows = rows;
+        this.columns = columns;
+        this.wordsPerRow = wordsPerRow(columns);
+    }
+
+    static OffHeapGrid load(Path path, Arena arena, byte... markers) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ);
+             Arena mapping = Arena.ofConfined()) {
+            long size = channel.size();
+            MemorySegment text = channel.map(READ_ONLY, 0, size, mapping);
+            int columns = firstLineLength(text);
+            if (columns == 0) {
+                throw new IllegalArgumentException("Invalid grid: the first line is empty");
+            }
+            int wordsPerRow = wordsPerRow(columns);
+            // every row takes at least its columns and a newline, so this is enough without counting lines first
+            int rowCapacity = Math.toIntExact(size / (columns + 1) + 1);
+            MemorySegment bitmap = arena.allocate(
+                    Math.multiplyExact(Math.multiplyExact((long) markers.length * rowCapacity, wordsPerRow), Long.BYTES),
+                    Long.BYTES);
+
+            long[] words = new long[markers.length];
+            long position = 0;
+            int rows = 0;
+            while (position < size) {
+                int x = 0;
+                byte b;
+                while (position < size && (b = text.get(JAVA_BYTE, position++)) != '\n') {
+                    if (b == '\r') {
+                        continue;
+                    }
+                    if (x == columns) {
+                        throw new IllegalArgumentException("Invalid line length in row " + rows + ": more than " + columns);
+                    }
+                    for (int plane = 0; plane < markers.length; plane++) {
+                        if (b == markers[plane]) {
+                            words[plane] |= 1L << x;
+                        }
+                    }
+                    x++;
+                    if ((x & 63) == 0) {
+                        flush(bitmap, words, rowCapacity, wordsPerRow, rows, (x >>> 6) - 1);
+                    }
+                }
+                if (x == 0) {
+                    continue;
+                }
+                if (x != columns) {
+                    throw new IllegalArgumentException("Invalid line length in row " + rows + ": " + x);
+                }
+                if ((x & 63) != 0) {
+                    flush(bitmap, words, rowCapacity, wordsPerRow, rows, x >>> 6);
+                }
+                rows++;
+            }
+            return new OffHeapGrid(bitmap, markers.length, rowCapacity, rows, columns);
+        }
+    }
+
+    private static int firstLineLength(MemorySegment text) {
+        long size = text.byteSize();
+        long end = 0;
+        while (end < size && text.get(JAVA_BYTE, end) != '\n') {
+            end++;
+        }
+        if (end > 0 && text.get(JAVA_BYTE, end - 1) == '\r') {
+            end--;
+        }
+        return Math.toIntExact(end);
+    }
+
+    private static void flush(MemorySegment bitmap, long[] words, int rowCapacity, int wordsPerRow, int y, int word) {
+        for (int plane = 0; plane < words.length; plane++) {
+            bitmap.setAtIndex(JAVA_LONG, ((long) plane * rowCapacity + y) * wordsPerRow + word, words[plane]);
+            words[plane] = 0;
+        }
+    }
+
+    private static int wordsPerRow(int columns) {
+        return (columns + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    static Path resourcePath(String name) throws URISyntaxException {
+        return Path.of(requireNonNull(OffHeapGrid.class.getResource(name)).toURI());
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int columns() {
+        return columns;
+    }
+
+    boolean isSet(int plane, int x, int y) {
+        if (plane < 0 || plane >= planes || x < 0 || x >= columns || y < 0 || y >= rows) {
+            throw new IllegalArgumentException("Invalid coordinates: (" + x + ", " + y + ") in plane " + plane);
+        }
+        return (word(plane, y, x >>> 6) & (1L << x)) != 0;
+    }
+
+    /**
+     * Returns the first column of row {@code y} that is set in {@code plane}, or -1 if there is none.
+     */
+    int indexOf(int plane, int y) {
+        for (int i = 0; i < wordsPerRow; i++) {
+            long word = word(plane, y, i);
+            if (word != 0) {
+                return i * Long.SIZE + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the cells of {@code plane} with fewer than four neighbours in the plane, streaming three rows at a time
+     * out of the segment, so the heap only ever holds a few rows.
+     */
+    long countRemovable(int plane, RowKernel kernel) {
+        long[] zero = new long[wordsPerRow];
+        long[] up = new long[wordsPerRow];
+        long[] middle = new long[wordsPerRow];
+        long[] down = new long[wordsPerRow];
+        long[] removable = new long[wordsPerRow];
+        long count = 0;
+        readRow(plane, 0, middle);
+        for (int y = 0; y < rows; y++) {
+            if (y + 1 < rows) {
+                readRow(plane, y + 1, down);
+            }
+            count += kernel.removableRow(y > 0 ? up : zero, 0, middle, 0, y + 1 < rows ? down : zero, 0,
+                    wordsPerRow, removable, 0);
+            long[] oldUp = up;
+            up = middle;
+            middle = down;
+            down = oldUp;
+        }
+        return count;
+    }
+
+    /**
+     * Peels {@code plane} in place like {@link PackedGrid#peel(RowKernel)}: every wave streams the rows out of the
+     * segment and writes every row back as soon as its removable cells are cleared, keeping the original of the
+     * previous row aside.
+     */
+    long[] peel(int plane, RowKernel kernel) {
+        long[] zero = new long[wordsPerRow];
+        long[] up = new long[wordsPerRow];
+        long[] middle = new long[wordsPerRow];
+        long[] down = new long[wordsPerRow];
+        long[] removable = new long[wordsPerRow];
+        long[] removalsPerWave = new long[16];
+        int waves = 0;
+        while (true) {
+            long removed = 0;
+            readRow(plane, 0, middle);
+            for (int y = 0; y < rows; y++) {
+                if (y + 1 < rows) {
+                    readRow(plane, y + 1, down);
+                }
+                long count = kernel.removableRow(y > 0 ? up : zero, 0, middle, 0, y + 1 < rows ? down : zero, 0,
+                        wordsPerRow, removable, 0);
+                if (count != 0) {
+                    removed += count;
+                    for (int i = 0; i < wordsPerRow; i++) {
+                        bitmap.setAtIndex(JAVA_LONG, index(plane, y, i), middle[i] & ~removable[i]);
+                    }
+                }
+                long[] oldUp = up;
+                up = middle;
+                middle = down;
+                down = oldUp;
+            }
+            if (removed == 0) {
+                return Arrays.copyOf(removalsPerWave, waves);
+            }
+            if (waves == removalsPerWave.length) {
+                removalsPerWave = Arrays.copyOf(removalsPerWave, waves * 2);
+            }
+            removalsPerWave[waves++] = removed;
+        }
+    }
+
+    private void readRow(int plane, int y, long[] destination) {
+        MemorySegment.copy(bitmap, JAVA_LONG, index(plane, y, 0) * Long.BYTES, destination, 0, wordsPerRow);
+    }
+
+    private long index(int plane, int y, int i) {
+        return ((long) plane * rowCapacity + y) * wordsPerRow + i;
+    }
+
+    private long word(int plane, int y, int i) {
+        return bitmap.getAtIndex(JAVA_LONG, index(plane, y, i));
+    }
+}
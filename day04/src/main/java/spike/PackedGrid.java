@@ -0,0 +1,186 @@
+package spike;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Grid of rolls packed 64 cells to a {@code long}, row by row.
+ * Neighbours are counted for 64 cells at once: the eight neighbour planes are the rows above, at and below
+ * shifted one cell west or east, and they are added with bit-sliced carry-save adders that only need to tell
+ * whether a cell has four or more neighbouring rolls.
+ */
+final class PackedGrid {
+    private final int rows;
+    private final int columns;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    PackedGrid(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.wordsPerRow = (columns + Long.SIZE - 1) / Long.SIZE;
+        this.words = new long[Math.multiplyExact(rows, wordsPerRow)];
+    }
+
+    static PackedGrid of(List<String> lines) {
+        int rows = lines.size();
+        int columns = lines.getFirst().length();
+        PackedGrid grid = new PackedGrid(rows, columns);
+        for (int y = 0; y < rows; y++) {
+            String line = lines.get(y);
+            for (int x = 0; x < columns; x++) {
+                if (line.charAt(x) == '@') {
+                    grid.fill(x, y);
+                }
+            }
+        }
+        return grid;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int columns() {
+        return columns;
+    }
+
+    int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    long[] words() {
+        return words;
+    }
+
+    void fill(int x, int y) {
+        words[y * wordsPerRow + (x >>> 6)] |= 1L << x;
+    }
+
+    boolean isRoll(int x, int y) {
+        return (words[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    long countRolls() {
+        long count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Counts the rolls with fewer than four neighbouring rolls.
+     */
+    long countRemovable() {
+        return countRemovable(RowKernel.BIT_SLICED);
+    }
+
+    long countRemovable(RowKernel kernel) {
+        long[] zero = new long[wordsPerRow];
+        long[] removable = new long[wordsPerRow];
+        long count = 0;
+        for (int y = 0; y < rows; y++) {
+            count += kernel.removableRow(
+                    y > 0 ? words : zero, y > 0 ? (y - 1) * wordsPerRow : 0,
+                    words, y * wordsPerRow,
+                    y + 1 < rows ? words : zero, y + 1 < rows ? (y + 1) * wordsPerRow : 0,
+                    wordsPerRow, removable, 0);
+        }
+        return count;
+    }
+
+    /**
+     * Removes every removable roll at once, wave after wave, and returns how many rolls every wave removed.
+     * Rows are updated in place; only the original of the previous row is kept aside.
+     */
+    long[] peel() {
+        return peel(RowKernel.BIT_SLICED);
+    }
+
+    long[] peel(RowKernel kernel) {
+        long[] zero = new long[wordsPerRow];
+        long[] removable = new long[wordsPerRow];
+        long[] previous = new long[wordsPerRow];
+        long[] removalsPerWave = new long[16];
+        int waves = 0;
+        while (true) {
+            long removed = 0;
+            for (int y = 0; y < rows; y++) {
+                int row = y * wordsPerRow;
+                removed += kernel.removableRow(
+                        y > 0 ? previous : zero, 0,
+                        words, row,
+                        y + 1 < rows ? words : zero, y + 1 < rows ? row + wordsPerRow : 0,
+                        wordsPerRow, removable, 0);
+                System.arraycopy(words, row, previous, 0, wordsPerRow);
+                for (int i = 0; i < wordsPerRow; i++) {
+                    words[row + i] &= ~removable[i];
+                }
+            }
+            if (removed == 0) {
+                return Arrays.copyOf(removalsPerWave, waves);
+            }
+            if (waves == removalsPerWave.length) {
+                removalsPerWave = Arrays.copyOf(removalsPerWave, waves * 2);
+            }
+            removalsPerWave[waves++] = removed;
+        }
+    }
+
+    /**
+     * Writes the mask of removable rolls of the middle row into {@code out} and returns how many there are.
+     * Cells outside the grid must be zero, also in the unused high bits of the last word of a row.
+     */
+    static long removableRow(long[] up, int upStart, long[] middle, int middleStart, long[] down, int downStart,
+                             int wordCount, long[] out, int outStart) {
+        return removableWords(up, upStart, middle, middleStart, down, downStart, wordCount, out, outStart, 0, wordCount);
+    }
+
+    /**
+     * Same as {@link #removableRow} for the words {@code [from, to)} of the row only.
+     */
+    static long removableWords(long[] up, int upStart, long[] middle, int middleStart, long[] down, int downStart,
+                               int wordCount, long[] out, int outStart, int from, int to) {
+        long count = 0;
+        for (int i = from; i < to; i++) {
+            boolean first = i == 0;
+            boolean last = i + 1 == wordCount;
+            long n = up[upStart + i];
+            long c = middle[middleStart + i];
+            long s = down[downStart + i];
+            long nw = west(n, first ? 0 : up[upStart + i - 1]);
+            long ne = east(n, last ? 0 : up[upStart + i + 1]);
+            long w = west(c, first ? 0 : middle[middleStart + i - 1]);
+            long e = east(c, last ? 0 : middle[middleStart + i + 1]);
+            long sw = west(s, first ? 0 : down[downStart + i - 1]);
+            long se = east(s, last ? 0 : down[downStart + i + 1]);
+
+            // carry-save adders: every carry is worth two neighbours,
+            // so four or more neighbours means at least two of the four carries are set
+            long carry1 = majority(n, s, nw);
+            long carry2 = majority(ne, w, e);
+            long carry3 = sw & se;
+            long carry4 = majority(n ^ s ^ nw, ne ^ w ^ e, sw ^ se);
+            long fourOrMore = ((carry1 | carry2) & (carry3 | carry4)) | (carry1 & carry2) | (carry3 & carry4);
+            long removable = c & ~fourOrMore;
+            out[outStart + i] = removable;
+            count += Long.bitCount(removable);
+        }
+        return count;
+    }
+
+    private static long majority(long a, long b, long c) {
+        return (a & b) | (c & (a ^ b));
+    }
+
+    // moves every cell one column east, so bit x holds the cell west of x
+    private static long west(long word, long wordBefore) {
+        return (word << 1) | (wordBefore >>> 63);
+    }
+
+    // moves every cell one column west, so bit x holds the cell east of x
+    private static long east(long word, long wordAfter) {
+        return (word >>> 1) | (wordAfter << 63);
+    }
+}
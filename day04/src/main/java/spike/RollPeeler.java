@@ -0,0 +1,85 @@
+package spike;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Removes every roll that has fewer than four neighbouring rolls, over and over, until none is left to remove.
+ * Every cell keeps its number of neighbouring rolls. When a roll is removed its eight neighbours are decremented,
+ * and only a neighbour that drops below four is queued for the next wave, so the whole peeling costs
+ * O(cells + removals) instead of a full sweep of the grid per pass.
+ */
+final class RollPeeler {
+    static final int MAX_NEIGHBORS = 3;
+
+    // the grid has a border of one empty cell on every side, so neighbours never need bounds checks
+    private final int width;
+    private final boolean[] rolls;
+    private final byte[] neighbors;
+    private final int[] offsets;
+
+    private RollPeeler(int rows, int columns) {
+        this.width = columns + 2;
+        this.rolls = new boolean[(rows + 2) * width];
+        this.neighbors = new byte[rolls.length];
+        this.offsets = new int[]{-width - 1, -width, -width + 1, -1, 1, width - 1, width, width + 1};
+    }
+
+    static RollPeeler of(List<String> lines) {
+        int rows = lines.size();
+        int columns = lines.getFirst().length();
+        RollPeeler peeler = new RollPeeler(rows, columns);
+        for (int y = 0; y < rows; y++) {
+            String line = lines.get(y);
+            for (int x = 0; x < columns; x++) {
+                if (line.charAt(x) == '@') {
+                    peeler.rolls[(y + 1) * peeler.width + x + 1] = true;
+                }
+            }
+        }
+        for (int cell = 0; cell < peeler.rolls.length; cell++) {
+            if (peeler.rolls[cell]) {
+                for (int offset : peeler.offsets) {
+                    peeler.neighbors[cell + offset]++;
+                }
+            }
+        }
+        return peeler;
+    }
+
+    /**
+     * Peels the grid and returns how many rolls were removed in every wave.
+     * A wave removes all rolls that became removable by the previous wave at once.
+     */
+    long[] peel() {
+        int[] queue = new int[rolls.length];
+        int tail = 0;
+        for (int cell = 0; cell < rolls.length; cell++) {
+            if (rolls[cell] && neighbors[cell] <= MAX_NEIGHBORS) {
+                queue[tail++] = cell;
+            }
+        }
+        long[] removalsPerWave = new long[16];
+        int waves = 0;
+        int head = 0;
+        while (head < tail) {
+            int waveEnd = tail;
+            if (waves == removalsPerWave.length) {
+                removalsPerWave = Arrays.copyOf(removalsPerWave, waves * 2);
+            }
+            removalsPerWave[waves++] = waveEnd - head;
+            for (; head < waveEnd; head++) {
+                int cell = queue[head];
+                rolls[cell] = false;
+                for (int offset : offsets) {
+                    int neighbor = cell + offset;
+                    // a roll is queued exactly once: when its count drops from four to three
+                    if (--neighbors[neighbor] == MAX_NEIGHBORS && rolls[neighbor]) {
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(removalsPerWave, waves);
+    }
+}
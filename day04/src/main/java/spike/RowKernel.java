@@ -0,0 +1,30 @@
+package spike;
+
+/**
+ * Computes the mask of removable rolls for one row of a {@link PackedGrid}, see {@link PackedGrid#removableRow}.
+ */
+@FunctionalInterface
+interface RowKernel {
+    RowKernel BIT_SLICED = PackedGrid::removableRow;
+
+    long removableRow(long[] up, int upStart, long[] middle, int middleStart, long[] down, int downStart,
+                      int wordCount, long[] out, int outStart);
+
+    static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    /**
+     * Returns the kernel named by {@code -Dday4.kernel}: {@code bit-sliced} (the default) or {@code vector}.
+     * The vector kernel falls back to the bit-sliced one when the JVM runs without
+     * {@code --add-modules jdk.incubator.vector}.
+     */
+    static RowKernel fromSystemProperty() {
+        String name = System.getProperty("day4.kernel", "bit-sliced");
+        return switch (name) {
+            case "bit-sliced" -> BIT_SLICED;
+            case "vector" -> isVectorAvailable() ? new VectorRowKernel() : BIT_SLICED;
+            default -> throw new IllegalArgumentException("Invalid kernel: " + name);
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package spike;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Peels a {@link PackedGrid} on several threads by cutting it into bands of {@code tileRows} rows.
+ * Every band is peeled in place by its own task, so a band small enough to stay in cache is swept without
+ * touching the rest of the grid. The only rows a band needs from its neighbours are the last row of the
+ * band above and the first row of the band below; those are copied aside between waves,
+ * so every wave sees the grid exactly as it was when the wave started, like the serial {@link PackedGrid#peel()}.
+ */
+final class TiledPeeler {
+    static final int DEFAULT_TILE_ROWS = 256;
+
+    private final PackedGrid grid;
+    private final RowKernel kernel;
+    private final int tileRows;
+    private final int bands;
+    private final long[] zero;
+    private final long[][] firstRows;
+    private final long[][] lastRows;
+    private final long[][] previousRows;
+    private final long[][] removableRows;
+
+    private TiledPeeler(PackedGrid grid, RowKernel kernel, int tileRows) {
+        if (tileRows <= 0) {
+            throw new IllegalArgumentException("Invalid tile rows: " + tileRows);
+        }
+        this.grid = grid;
+        this.kernel = kernel;
+        this.tileRows = tileRows;
+        this.bands = (grid.rows() + tileRows - 1) / tileRows;
+        int wordsPerRow = grid.wordsPerRow();
+        this.zero = new long[wordsPerRow];
+        this.firstRows = new long[bands][wordsPerRow];
+        this.lastRows = new long[bands][wordsPerRow];
+        this.previousRows = new long[bands][wordsPerRow];
+        this.removableRows = new long[bands][wordsPerRow];
+    }
+
+    static long[] peel(PackedGrid grid) {
+        return peel(grid, DEFAULT_TILE_ROWS, Runtime.getRuntime().availableProcessors());
+    }
+
+    static long[] peel(PackedGrid grid, int tileRows, int threads) {
+        return peel(grid, RowKernel.BIT_SLICED, tileRows, threads);
+    }
+
+    /**
+     * Removes every removable roll at once, wave after wave, and returns how many rolls every wave removed.
+     */
+    static long[] peel(PackedGrid grid, RowKernel kernel, int tileRows, int threads) {
+        TiledPeeler peeler = new TiledPeeler(grid, kernel, tileRows);
+        try (ForkJoinPool pool = new ForkJoinPool(threads)) {
+            long[] removalsPerWave = new long[16];
+            int waves = 0;
+            while (true) {
+                peeler.exchangeHalos();
+                long removed = pool.invoke(peeler.new WaveTask(0, peeler.bands));
+                if (removed == 0) {
+                    return Arrays.copyOf(removalsPerWave, waves);
+                }
+                if (waves == removalsPerWave.length) {
+                    removalsPerWave = Arrays.copyOf(removalsPerWave, waves * 2);
+                }
+                removalsPerWave[waves++] = removed;
+            }
+        }
+    }
+
+    private void exchangeHalos() {
+        long[] words = grid.words();
+        int wordsPerRow = grid.wordsPerRow();
+        for (int band = 0; band < bands; band++) {
+            System.arraycopy(words, firstRow(band) * wordsPerRow, firstRows[band], 0, wordsPerRow);
+            System.arraycopy(words, (endRow(band) - 1) * wordsPerRow, lastRows[band], 0, wordsPerRow);
+        }
+    }
+
+    private long peelBand(int band) {
+        long[] words = grid.words();
+        int wordsPerRow = grid.wordsPerRow();
+        int rows = grid.rows();
+        long[] previous = previousRows[band];
+        long[] removable = removableRows[band];
+        int first = firstRow(band);
+        int end = endRow(band);
+        long removed = 0;
+        for (int y = first; y < end; y++) {
+            int row = y * wordsPerRow;
+            long[] up = y == 0 ? zero : y == first ? lastRows[band - 1] : previous;
+            long[] down;
+            int downStart;
+            if (y + 1 == rows) {
+                down = zero;
+                downStart = 0;
+            } else if (y + 1 == end) {
+                down = firstRows[band + 1];
+                downStart = 0;
+            } else {
+                down = words;
+                downStart = row + wordsPerRow;
+            }
+            removed += kernel.removableRow(up, 0, words, row, down, downStart, wordsPerRow, removable, 0);
+            System.arraycopy(words, row, previous, 0, wordsPerRow);
+            for (int i = 0; i < wordsPerRow; i++) {
+                words[row + i] &= ~removable[i];
+            }
+        }
+        return removed;
+    }
+
+    private int firstRow(int band) {
+        return band * tileRows;
+    }
+
+    private int endRow(int band) {
+        return Math.min(grid.rows(), (band + 1) * tileRows);
+    }
+
+    private final class WaveTask extends RecursiveTask<Long> {
+        private final int from;
+        private final int to;
+
+        WaveTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= 1) {
+                return from < to ? peelBand(from) : 0L;
+            }
+            int middle = (from + to) >>> 1;
+            WaveTask left = new WaveTask(from, middle);
+            left.fork();
+            long right = new WaveTask(middle, to).compute();
+            return left.join() + right;
+        }
+    }
+}
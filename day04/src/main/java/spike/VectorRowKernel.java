@@ -0,0 +1,60 @@
+package spike;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link RowKernel} that runs the carry-save adders of {@link PackedGrid#removableRow} on SIMD lanes,
+ * one word per lane. The west and east neighbours come from loads shifted by one word,
+ * so the first word and the words that do not fill a whole vector are left to the scalar kernel.
+ * Only load this class after {@link RowKernel#isVectorAvailable()}.
+ */
+final class VectorRowKernel implements RowKernel {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public long removableRow(long[] up, int upStart, long[] middle, int middleStart, long[] down, int downStart,
+                             int wordCount, long[] out, int outStart) {
+        int lanes = SPECIES.length();
+        long count = PackedGrid.removableWords(up, upStart, middle, middleStart, down, downStart, wordCount, out, outStart, 0, Math.min(1, wordCount));
+        int i = 1;
+        for (; i + lanes < wordCount; i += lanes) {
+            LongVector n = LongVector.fromArray(SPECIES, up, upStart + i);
+            LongVector c = LongVector.fromArray(SPECIES, middle, middleStart + i);
+            LongVector s = LongVector.fromArray(SPECIES, down, downStart + i);
+            LongVector nw = west(n, LongVector.fromArray(SPECIES, up, upStart + i - 1));
+            LongVector ne = east(n, LongVector.fromArray(SPECIES, up, upStart + i + 1));
+            LongVector w = west(c, LongVector.fromArray(SPECIES, middle, middleStart + i - 1));
+            LongVector e = east(c, LongVector.fromArray(SPECIES, middle, middleStart + i + 1));
+            LongVector sw = west(s, LongVector.fromArray(SPECIES, down, downStart + i - 1));
+            LongVector se = east(s, LongVector.fromArray(SPECIES, down, downStart + i + 1));
+
+            LongVector carry1 = majority(n, s, nw);
+            LongVector carry2 = majority(ne, w, e);
+            LongVector carry3 = sw.and(se);
+            LongVector carry4 = majority(n.lanewise(VectorOperators.XOR, s).lanewise(VectorOperators.XOR, nw),
+                    ne.lanewise(VectorOperators.XOR, w).lanewise(VectorOperators.XOR, e),
+                    sw.lanewise(VectorOperators.XOR, se));
+            LongVector fourOrMore = carry1.or(carry2).and(carry3.or(carry4))
+                    .or(carry1.and(carry2))
+                    .or(carry3.and(carry4));
+            LongVector removable = c.and(fourOrMore.not());
+            removable.intoArray(out, outStart + i);
+            count += removable.lanewise(VectorOperators.BIT_COUNT).reduceLanes(VectorOperators.ADD);
+        }
+        return count + PackedGrid.removableWords(up, upStart, middle, middleStart, down, downStart, wordCount, out, outStart, i, wordCount);
+    }
+
+    private static LongVector majority(LongVector a, LongVector b, LongVector c) {
+        return a.and(b).or(c.and(a.lanewise(VectorOperators.XOR, b)));
+    }
+
+    private static LongVector west(LongVector words, LongVector wordsBefore) {
+        return words.lanewise(VectorOperators.LSHL, 1).or(wordsBefore.lanewise(VectorOperators.LSHR, 63));
+    }
+
+    private static LongVector east(LongVector words, LongVector wordsAfter) {
+        return words.lanewise(VectorOperators.LSHR, 1).or(wordsAfter.lanewise(VectorOperators.LSHL, 63));
+    }
+}
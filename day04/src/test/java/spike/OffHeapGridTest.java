@@ -0,0 +1,72 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.foreign.Arena;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapGridTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldPeelExampleInWaves() throws Exception {
+        Path input = Files.write(tempDir.resolve("example.txt"), RollPeelerTest.EXAMPLE);
+        try (Arena arena = Arena.ofConfined()) {
+            OffHeapGrid grid = OffHeapGrid.load(input, arena, (byte) '@');
+            assertThat(grid.countRemovable(0, RowKernel.BIT_SLICED)).isEqualTo(13);
+            assertThat(grid.peel(0, RowKernel.BIT_SLICED)).containsExactly(13, 12, 7, 5, 2, 1, 1, 1, 1);
+        }
+    }
+
+    @Test
+    void shouldMatchPackedGridForRandomGrids() throws Exception {
+        Random random = new Random(2025);
+        try (Arena arena = Arena.ofConfined()) {
+            for (int i = 0; i < 100; i++) {
+                List<String> lines = RollPeelerTest.randomGrid(random, random.nextInt(1, 40), random.nextInt(1, 200));
+                String separator = random.nextBoolean() ? "\r\n" : "\n";
+                Path input = Files.writeString(tempDir.resolve("grid.txt"), String.join(separator, lines) + separator);
+                OffHeapGrid grid = OffHeapGrid.load(input, arena, (byte) '@', (byte) '.');
+                assertThat(grid.rows()).isEqualTo(lines.size());
+                for (int y = 0; y < lines.size(); y++) {
+                    assertThat(grid.indexOf(1, y)).isEqualTo(lines.get(y).indexOf('.'));
+                    for (int x = 0; x < lines.get(y).length(); x++) {
+                        assertThat(grid.isSet(0, x, y)).isEqualTo(lines.get(y).charAt(x) == '@');
+                    }
+                }
+                PackedGrid packed = PackedGrid.of(lines);
+                assertThat(grid.countRemovable(0, RowKernel.BIT_SLICED)).isEqualTo(packed.countRemovable());
+                assertThat(grid.peel(0, RowKernel.BIT_SLICED)).containsExactly(packed.peel());
+            }
+        }
+    }
+
+    @Test
+    void shouldSkipBlankLines() throws Exception {
+        Path input = Files.writeString(tempDir.resolve("grid.txt"), "..S..\n\n.^.^.\n\n\n");
+        try (Arena arena = Arena.ofConfined()) {
+            OffHeapGrid grid = OffHeapGrid.load(input, arena, (byte) '^', (byte) 'S');
+            assertThat(grid.rows()).isEqualTo(2);
+            assertThat(grid.indexOf(1, 0)).isEqualTo(2);
+            assertThat(grid.isSet(0, 1, 1)).isTrue();
+            assertThat(grid.isSet(0, 2, 1)).isFalse();
+        }
+    }
+
+    @Test
+    void shouldRejectRaggedLines() throws Exception {
+        Path input = Files.writeString(tempDir.resolve("grid.txt"), "@@@\n@@\n");
+        try (Arena arena = Arena.ofConfined()) {
+            assertThatThrownBy(() -> OffHeapGrid.load(input, arena, (byte) '@'))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
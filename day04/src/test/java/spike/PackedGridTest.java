@@ -0,0 +1,42 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PackedGridTest {
+    @Test
+    void shouldCountRemovableRollsOfExample() {
+        assertThat(PackedGrid.of(RollPeelerTest.EXAMPLE).countRemovable()).isEqualTo(13);
+    }
+
+    @Test
+    void shouldPeelExampleInWaves() {
+        assertThat(PackedGrid.of(RollPeelerTest.EXAMPLE).peel()).containsExactly(13, 12, 7, 5, 2, 1, 1, 1, 1);
+    }
+
+    @Test
+    void shouldMatchScalarGridsForRandomGrids() {
+        Random random = new Random(2025);
+        for (int i = 0; i < 200; i++) {
+            // widths around multiples of 64 exercise the carries between words
+            List<String> lines = RollPeelerTest.randomGrid(random, random.nextInt(1, 40), random.nextInt(1, 200));
+            assertThat(PackedGrid.of(lines).countRemovable()).isEqualTo(Day4Part1.countOneByOne(lines));
+            assertThat(PackedGrid.of(lines).peel()).containsExactly(RollPeeler.of(lines).peel());
+        }
+    }
+
+    @Test
+    void shouldMatchBitSlicedKernelWithVectorKernel() {
+        Random random = new Random(2025);
+        RowKernel vector = new VectorRowKernel();
+        for (int i = 0; i < 100; i++) {
+            List<String> lines = RollPeelerTest.randomGrid(random, random.nextInt(1, 40), random.nextInt(1, 2_000));
+            assertThat(PackedGrid.of(lines).countRemovable(vector)).isEqualTo(PackedGrid.of(lines).countRemovable(RowKernel.BIT_SLICED));
+            assertThat(PackedGrid.of(lines).peel(vector)).containsExactly(PackedGrid.of(lines).peel(RowKernel.BIT_SLICED));
+        }
+    }
+}
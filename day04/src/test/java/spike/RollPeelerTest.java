@@ -0,0 +1,49 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollPeelerTest {
+    static final List<String> EXAMPLE = List.of(
+            "..@@.@@@@.",
+            "@@@.@.@.@@",
+            "@@@@@.@.@@",
+            "@.@@@@..@.",
+            "@@.@@@@.@@",
+            ".@@@@@@@.@",
+            ".@.@.@.@@@",
+            "@.@@@.@@@@",
+            ".@@@@@@@@.",
+            "@.@.@@@.@.");
+
+    @Test
+    void shouldPeelExampleInWaves() {
+        assertThat(RollPeeler.of(EXAMPLE).peel()).containsExactly(13, 12, 7, 5, 2, 1, 1, 1, 1);
+    }
+
+    @Test
+    void shouldMatchFullSweepsForRandomGrids() {
+        Random random = new Random(2025);
+        for (int i = 0; i < 200; i++) {
+            List<String> lines = randomGrid(random, random.nextInt(1, 60), random.nextInt(1, 60));
+            int expected = Day4Part2.sweepUntilStable(lines);
+            assertThat(LongStream.of(RollPeeler.of(lines).peel()).sum()).isEqualTo(expected);
+        }
+    }
+
+    static List<String> randomGrid(Random random, int rows, int columns) {
+        double density = random.nextDouble(0.3, 0.9);
+        return IntStream.range(0, rows)
+                .mapToObj(_ -> IntStream.range(0, columns)
+                        .mapToObj(_ -> random.nextDouble() < density ? "@" : ".")
+                        .collect(Collectors.joining()))
+                .toList();
+    }
+}
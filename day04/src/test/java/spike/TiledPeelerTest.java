@@ -0,0 +1,39 @@
+package spike;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TiledPeelerTest {
+    @ParameterizedTest
+    @CsvSource(textBlock = """
+            1, 1
+            1, 4
+            2, 3
+            3, 2
+            10, 4
+            """)
+    void shouldPeelExampleInWaves(int tileRows, int threads) {
+        assertThat(TiledPeeler.peel(PackedGrid.of(RollPeelerTest.EXAMPLE), tileRows, threads))
+                .containsExactly(13, 12, 7, 5, 2, 1, 1, 1, 1);
+    }
+
+    @ParameterizedTest
+    @CsvSource(textBlock = """
+            1, 2
+            2, 4
+            7, 3
+            64, 8
+            """)
+    void shouldMatchSerialPeelForRandomGrids(int tileRows, int threads) {
+        Random random = new Random(tileRows);
+        for (int i = 0; i < 100; i++) {
+            List<String> lines = RollPeelerTest.randomGrid(random, random.nextInt(1, 100), random.nextInt(1, 200));
+            assertThat(TiledPeeler.peel(PackedGrid.of(lines), tileRows, threads)).containsExactly(PackedGrid.of(lines).peel());
+        }
+    }
+}
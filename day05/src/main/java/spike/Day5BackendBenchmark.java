@@ -0,0 +1,108 @@
+package spike;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the interval index with the compressed bitmap on a sparse and a dense batch of sorted IDs.
+ * Sparse: a few thousand wide ranges over 2^48 IDs, probed uniformly.
+ * Dense: many short ranges packed into a few clusters, probed inside the clusters.
+ * The ranges, the backend and the batch are built once per trial, so only the queries are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class Day5BackendBenchmark {
+    private static final int ID_COUNT = 20_000_000;
+
+    @Param({"sparse", "dense"})
+    public String workload;
+
+    @Param({"intervals", "bitmap"})
+    public String backend;
+
+    private IdSet ids;
+    private long[] batch;
+
+    static void main() throws RunnerException {
+        new Runner(new OptionsBuilder().include(Day5BackendBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2025);
+        IntervalIndex index = switch (workload) {
+            case "sparse" -> {
+                batch = random.longs(ID_COUNT, 0, 1L << 48).sorted().toArray();
+                yield sparseRanges(random);
+            }
+            case "dense" -> {
+                batch = random.longs(ID_COUNT, 0, 1L << 24).map(Day5BackendBenchmark::spreadOverClusters).sorted().toArray();
+                yield denseRanges(random);
+            }
+            default -> throw new IllegalArgumentException("Invalid workload: " + workload);
+        };
+        ids = switch (backend) {
+            case "intervals" -> index;
+            case "bitmap" -> RangeBitmap.of(index);
+            default -> throw new IllegalArgumentException("Invalid backend: " + backend);
+        };
+    }
+
+    @Benchmark
+    public long count() {
+        return ids.countContained(batch);
+    }
+
+    @Benchmark
+    public BitSet members() {
+        return ids.containsAll(batch);
+    }
+
+    private static IntervalIndex sparseRanges(Random random) {
+        int count = 5_000;
+        long[] mins = new long[count];
+        long[] maxs = new long[count];
+        for (int i = 0; i < count; i++) {
+            mins[i] = random.nextLong(0, 1L << 48);
+            maxs[i] = mins[i] + random.nextLong(0, 1L << 36);
+        }
+        return IntervalIndex.of(mins, maxs);
+    }
+
+    // 16 clusters of 2^20 IDs, each full of ranges of a few IDs with gaps of a few IDs
+    private static IntervalIndex denseRanges(Random random) {
+        int count = 3_000_000;
+        long[] mins = new long[count];
+        long[] maxs = new long[count];
+        for (int i = 0; i < count; i++) {
+            mins[i] = spreadOverClusters(random.nextLong(0, 1L << 24));
+            maxs[i] = mins[i] + random.nextLong(0, 4);
+        }
+        return IntervalIndex.of(mins, maxs);
+    }
+
+    // the top 4 bits pick one of 16 clusters 2^32 apart, the low 20 bits the ID inside the cluster
+    private static long spreadOverClusters(long id) {
+        return (id >>> 20) * (1L << 32) + (id & ((1L << 20) - 1));
+    }
+}
@@ -24,6 +24,20 @@ public class Day5Part1 {
             }
         }
 
+        long[] ids = lines.stream()
+                .filter(line -> !line.contains("-") && !line.isEmpty())
+                .mapToLong(Long::parseLong)
+                .sorted()
+                .toArray();
+        IntervalIndex index = IntervalIndex.of(
+                ranges.stream().mapToLong(Range::min).toArray(),
+                ranges.stream().mapToLong(Range::max).toArray());
+        long freshIngredientCount = IdSet.fromSystemProperty(index).countContained(ids);
+//        long freshIngredientCount = countFreshOneByOne(ranges, lines);
+        System.out.printf("%d of the available ingredient IDs are fresh%n", freshIngredientCount);
+    }
+
+    static int countFreshOneByOne(List<Range> ranges, List<String> lines) {
         int freshIngredientCount = 0;
         for (String line : lines) {
             if (!line.contains("-") && !line.isEmpty()) {
@@ -34,7 +48,7 @@ public class Day5Part1 {
                 }
             }
         }
-        System.out.printf("%d of the available ingredient IDs are fresh%n", freshIngredientCount);
+        return freshIngredientCount;
     }
 
     record Range(long min, long max) {
@@ -3,6 +3,7 @@ package spike;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,9 +13,16 @@ import static java.util.Objects.requireNonNull;
 public class Day5Part2 {
 
     static void main() throws Exception {
-//        List<String> lines = readInputLines("/example.txt");
-        List<String> lines = readInputLines("/input.txt");
+//        Path input = RangeList.resourcePath("/example.txt");
+        Path input = RangeList.resourcePath("/input.txt");
+        long freshIngredientCount = RangeList.read(input).toIndex(Boolean.getBoolean("day5.parallelSort")).coveredCount();
+//        long freshIngredientCount = mergeUntilStable(readInputLines("/input.txt"));
 
+        System.out.printf("%d of the available ingredient IDs are fresh%n", freshIngredientCount);
+        // 365804144481581
+    }
+
+    static long mergeUntilStable(List<String> lines) {
         List<Range> ranges = new ArrayList<>();
         for (String line : lines) {
             if (line.contains("-")) {
@@ -31,10 +39,7 @@ public class Day5Part2 {
             ranges = mergeRangesIfOverlapping(ranges);
         }
 
-        long freshIngredientCount = ranges.stream().mapToLong(Range::count).sum();
-
-        System.out.printf("%d of the available ingredient IDs are fresh%n", freshIngredientCount);
-        // 365804144481581
+        return ranges.stream().mapToLong(Range::count).sum();
     }
 
     private static List<Range> mergeRangesIfOverlapping(List<Range> ranges) {
@@ -0,0 +1,240 @@
+package spike;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Mutable multiset of inclusive ID ranges that keeps the number of IDs covered by at least one range up to date.
+ * A range {@code min-max} is stored as two events, +1 at {@code min} and -1 at {@code max + 1}, in a treap keyed
+ * by ID. An ID is covered when the events up to it add up to more than zero. Every subtree also knows the lowest
+ * of those running sums between its own keys and how many IDs have it; the running sum never drops below zero,
+ * so the IDs that are not covered are the ones where it is zero, and the covered count of the whole set follows
+ * from the root. Adding or removing a range is two treap updates in O(log n) and the covered count costs O(1).
+ * Nodes are kept in primitive arrays and recycled once the events at their ID cancel out.
+ */
+final class DynamicIntervalSet {
+    static final long MAX_ID = Long.MAX_VALUE - 1;
+
+    private static final int NONE = 0;
+    private static final long NO_SEGMENT = Long.MAX_VALUE;
+
+    private final SplittableRandom random = new SplittableRandom(2025);
+    private long[] keys = new long[64];
+    private int[] deltas = new int[64];
+    private int[] priorities = new int[64];
+    private int[] lefts = new int[64];
+    private int[] rights = new int[64];
+    // aggregates of the subtree
+    private long[] sums = new long[64];
+    private long[] minKeys = new long[64];
+    private long[] maxKeys = new long[64];
+    private long[] lowestSums = new long[64];
+    private long[] lowestLengths = new long[64];
+    private int nodeCount = 1;
+    private int free = NONE;
+    private int root = NONE;
+
+    void add(long min, long max) {
+        checkRange(min, max);
+        root = addEvent(root, min, 1);
+        root = addEvent(root, max + 1, -1);
+    }
+
+    /**
+     * Removes a range that was added before; IDs that other ranges cover stay in the set.
+     * Removing a range that was never added is only noticed when it would leave an ID covered fewer than zero times.
+     */
+    void remove(long min, long max) {
+        checkRange(min, max);
+        root = addEvent(root, min, -1);
+        root = addEvent(root, max + 1, 1);
+        if (root != NONE && lowestSums[root] < 0) {
+            root = addEvent(root, min, 1);
+            root = addEvent(root, max + 1, -1);
+            throw new IllegalArgumentException("Invalid range: " + min + "-" + max + " was not added");
+        }
+    }
+
+    boolean contains(long id) {
+        long sum = 0;
+        int node = root;
+        while (node != NONE) {
+            if (keys[node] <= id) {
+                sum += sums[lefts[node]] + deltas[node];
+                node = rights[node];
+            } else {
+                node = lefts[node];
+            }
+        }
+        return sum > 0;
+    }
+
+    /**
+     * Returns how many IDs at least one range covers.
+     */
+    long coveredCount() {
+        if (root == NONE) {
+            return 0;
+        }
+        long span = maxKeys[root] - minKeys[root];
+        return lowestSums[root] == 0 ? span - lowestLengths[root] : span;
+    }
+
+    private static void checkRange(long min, long max) {
+        if (min < 0 || min > max || max > MAX_ID) {
+            throw new IllegalArgumentException("Invalid range: " + min + "-" + max);
+        }
+    }
+
+    private int addEvent(int node, long key, int delta) {
+        if (node == NONE) {
+            return allocate(key, delta);
+        }
+        if (key == keys[node]) {
+            deltas[node] += delta;
+            if (deltas[node] == 0) {
+                int merged = merge(lefts[node], rights[node]);
+                release(node);
+                return merged;
+            }
+        } else if (key < keys[node]) {
+            // the arrays may grow while adding, so they are only indexed once it returns
+            int left = addEvent(lefts[node], key, delta);
+            lefts[node] = left;
+            if (priorities[lefts[node]] > priorities[node]) {
+                return rotateRight(node);
+            }
+        } else {
+            int right = addEvent(rights[node], key, delta);
+            rights[node] = right;
+            if (priorities[rights[node]] > priorities[node]) {
+                return rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private int rotateRight(int node) {
+        int left = lefts[node];
+        lefts[node] = rights[left];
+        rights[left] = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private int rotateLeft(int node) {
+        int right = rights[node];
+        rights[node] = lefts[right];
+        lefts[right] = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private int merge(int left, int right) {
+        if (left == NONE) {
+            return right;
+        }
+        if (right == NONE) {
+            return left;
+        }
+        if (priorities[left] > priorities[right]) {
+            rights[left] = merge(rights[left], right);
+            update(left);
+            return left;
+        }
+        lefts[right] = merge(left, lefts[right]);
+        update(right);
+        return right;
+    }
+
+    /**
+     * Recomputes the aggregates of a node from its children. The segments of a subtree run from each of its keys
+     * to the next one; the one after its last key depends on keys outside the subtree and is left out.
+     */
+    private void update(int node) {
+        int left = lefts[node];
+        int right = rights[node];
+        long key = keys[node];
+        long sumBefore = sums[left];
+        long sumAt = sumBefore + deltas[node];
+        sums[node] = sumAt + sums[right];
+        minKeys[node] = left == NONE ? key : minKeys[left];
+        maxKeys[node] = right == NONE ? key : maxKeys[right];
+
+        long lowest = NO_SEGMENT;
+        long length = 0;
+        if (left != NONE) {
+            lowest = lowestSums[left];
+            length = lowestLengths[left];
+            long gap = key - maxKeys[left];
+            if (sumBefore < lowest) {
+                lowest = sumBefore;
+                length = gap;
+            } else if (sumBefore == lowest) {
+                length += gap;
+            }
+        }
+        if (right != NONE) {
+            long gap = minKeys[right] - key;
+            if (sumAt < lowest) {
+                lowest = sumAt;
+                length = gap;
+            } else if (sumAt == lowest) {
+                length += gap;
+            }
+            if (lowestSums[right] != NO_SEGMENT) {
+                long inRight = sumAt + lowestSums[right];
+                if (inRight < lowest) {
+                    lowest = inRight;
+                    length = lowestLengths[right];
+                } else if (inRight == lowest) {
+                    length += lowestLengths[right];
+                }
+            }
+        }
+        lowestSums[node] = lowest;
+        lowestLengths[node] = length;
+    }
+
+    private int allocate(long key, int delta) {
+        int node;
+        if (free != NONE) {
+            node = free;
+            free = lefts[node];
+        } else {
+            if (nodeCount == keys.length) {
+                grow(nodeCount * 2);
+            }
+            node = nodeCount++;
+        }
+        keys[node] = key;
+        deltas[node] = delta;
+        // never below the priority 0 of NONE, so an empty child is never rotated up
+        priorities[node] = random.nextInt() >>> 1;
+        lefts[node] = NONE;
+        rights[node] = NONE;
+        update(node);
+        return node;
+    }
+
+    private void release(int node) {
+        lefts[node] = free;
+        free = node;
+    }
+
+    private void grow(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+        deltas = Arrays.copyOf(deltas, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        lefts = Arrays.copyOf(lefts, capacity);
+        rights = Arrays.copyOf(rights, capacity);
+        sums = Arrays.copyOf(sums, capacity);
+        minKeys = Arrays.copyOf(minKeys, capacity);
+        maxKeys = Arrays.copyOf(maxKeys, capacity);
+        lowestSums = Arrays.copyOf(lowestSums, capacity);
+        lowestLengths = Arrays.copyOf(lowestLengths, capacity);
+    }
+}
@@ -0,0 +1,32 @@
+package spike;
+
+import java.util.BitSet;
+
+/**
+ * Set of fresh ingredient IDs that answers single IDs as well as sorted batches of IDs.
+ */
+interface IdSet {
+    boolean contains(long id);
+
+    /**
+     * Returns which of the sorted {@code ids} are in the set, by their index in {@code ids}.
+     */
+    BitSet containsAll(long[] ids);
+
+    /**
+     * Counts how many of the sorted {@code ids} are in the set.
+     */
+    long countContained(long[] ids);
+
+    /**
+     * Returns the backend named by {@code -Dday5.backend}: {@code intervals} (the default) or {@code bitmap}.
+     */
+    static IdSet fromSystemProperty(IntervalIndex index) {
+        String name = System.getProperty("day5.backend", "intervals");
+        return switch (name) {
+            case "intervals" -> index;
+            case "bitmap" -> RangeBitmap.of(index);
+            default -> throw new IllegalArgumentException("Invalid backend: " + name);
+        };
+    }
+}
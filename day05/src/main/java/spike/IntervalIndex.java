@@ -0,0 +1,165 @@
+package spike;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Immutable set of ingredient IDs given as inclusive ranges, coalesced into sorted, disjoint
+ * and non-adjacent intervals kept in two parallel arrays.
+ * A single ID is looked up with a binary search; a sorted batch of IDs is answered in one merge pass.
+ */
+final class IntervalIndex implements IdSet {
+    private final long[] starts;
+    private final long[] ends;
+    private final long coveredCount;
+
+    private IntervalIndex(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+        long count = 0;
+        for (int i = 0; i < starts.length; i++) {
+            try {
+                count = Math.addExact(count, Math.addExact(Math.subtractExact(ends[i], starts[i]), 1));
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Invalid range: " + starts[i] + "-" + ends[i], e);
+            }
+        }
+        this.coveredCount = count;
+    }
+
+    /**
+     * Coalesces the ranges {@code [mins[i], maxs[i]]}. Both arrays are sorted in place.
+     */
+    static IntervalIndex of(long[] mins, long[] maxs) {
+        return of(mins, maxs, false);
+    }
+
+    /**
+     * Same as {@link #of(long[], long[])}, sorting with {@link Arrays#parallelSort(long[])} when asked to,
+     * which pays off for millions of ranges.
+     */
+    static IntervalIndex of(long[] mins, long[] maxs, boolean parallelSort) {
+        if (mins.length != maxs.length) {
+            throw new IllegalArgumentException("Invalid ranges: " + mins.length + " minimums and " + maxs.length + " maximums");
+        }
+        for (int i = 0; i < mins.length; i++) {
+            if (mins[i] > maxs[i]) {
+                throw new IllegalArgumentException("Invalid range: " + mins[i] + "-" + maxs[i]);
+            }
+        }
+        if (parallelSort) {
+            Arrays.parallelSort(mins);
+            Arrays.parallelSort(maxs);
+        } else {
+            Arrays.sort(mins);
+            Arrays.sort(maxs);
+        }
+        return coalesce(mins, maxs);
+    }
+
+    /**
+     * Sweeps over the sorted minimums and the separately sorted maximums.
+     * How many ranges cover an ID only depends on how many minimums are at or below it and how many maximums
+     * are below it, so the union does not need to know which minimum belongs to which maximum.
+     * The intervals are written over the front of the input arrays.
+     */
+    private static IntervalIndex coalesce(long[] mins, long[] maxs) {
+        int count = 0;
+        int depth = 0;
+        int j = 0;
+        long start = 0;
+        for (int i = 0; i < mins.length; i++) {
+            // close every range that ends before this one starts, unless they touch
+            while (depth > 0 && maxs[j] < mins[i] && maxs[j] != mins[i] - 1) {
+                j++;
+                if (--depth == 0) {
+                    mins[count] = start;
+                    maxs[count++] = maxs[j - 1];
+                }
+            }
+            if (depth++ == 0) {
+                start = mins[i];
+            }
+        }
+        if (depth > 0) {
+            mins[count] = start;
+            maxs[count++] = maxs[maxs.length - 1];
+        }
+        return count == mins.length
+                ? new IntervalIndex(mins, maxs)
+                : new IntervalIndex(Arrays.copyOf(mins, count), Arrays.copyOf(maxs, count));
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    long start(int interval) {
+        return starts[interval];
+    }
+
+    long end(int interval) {
+        return ends[interval];
+    }
+
+    /**
+     * Returns how many IDs the ranges cover together.
+     */
+    long coveredCount() {
+        return coveredCount;
+    }
+
+    @Override
+    public boolean contains(long id) {
+        int found = Arrays.binarySearch(starts, id);
+        if (found >= 0) {
+            return true;
+        }
+        int interval = -found - 2;
+        return interval >= 0 && id <= ends[interval];
+    }
+
+    @Override
+    public BitSet containsAll(long[] ids) {
+        BitSet contained = new BitSet(ids.length);
+        int interval = 0;
+        for (int i = 0; i < ids.length; i++) {
+            long id = ids[i];
+            if (i > 0 && id < ids[i - 1]) {
+                throw new IllegalArgumentException("Invalid IDs: not sorted at index " + i);
+            }
+            while (interval < ends.length && ends[interval] < id) {
+                interval++;
+            }
+            if (interval == ends.length) {
+                break;
+            }
+            if (id >= starts[interval]) {
+                contained.set(i);
+            }
+        }
+        return contained;
+    }
+
+    @Override
+    public long countContained(long[] ids) {
+        long count = 0;
+        int interval = 0;
+        for (int i = 0; i < ids.length; i++) {
+            long id = ids[i];
+            if (i > 0 && id < ids[i - 1]) {
+                throw new IllegalArgumentException("Invalid IDs: not sorted at index " + i);
+            }
+            while (interval < ends.length && ends[interval] < id) {
+                interval++;
+            }
+            if (interval == ends.length) {
+                break;
+            }
+            if (id >= starts[interval]) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,302 @@
+package spike;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Compressed bitmap of fresh IDs in the style of a roaring bitmap: IDs are grouped by their high 48 bits
+ * into chunks of 65536, and every chunk keeps its low 16 bits in whichever container is smallest,
+ * a sorted array, a plain bitmap or a list of runs.
+ * The merged ranges of the puzzle cover trillions of IDs, so a stretch of full chunks is stored as a single
+ * entry sharing one full run container instead of one container per chunk.
+ * Batches are answered in parallel: counts per container, memberships per block of the batch.
+ */
+final class RangeBitmap implements IdSet {
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int MAX_ARRAY_SIZE = 4096;
+    private static final int BLOCK_SIZE = 1 << 12;
+    private static final Container FULL = new RunContainer(new char[]{0}, new char[]{CHUNK_SIZE - 1});
+
+    private final long[] firstChunks;
+    private final long[] lastChunks;
+    private final Container[] containers;
+
+    private RangeBitmap(long[] firstChunks, long[] lastChunks, Container[] containers) {
+        this.firstChunks = firstChunks;
+        this.lastChunks = lastChunks;
+        this.containers = containers;
+    }
+
+    static RangeBitmap of(IntervalIndex index) {
+        Builder builder = new Builder();
+        for (int interval = 0; interval < index.size(); interval++) {
+            long start = index.start(interval);
+            long end = index.end(interval);
+            if (start < 0) {
+                throw new IllegalArgumentException("Invalid range: " + start + "-" + end);
+            }
+            while (start <= end) {
+                long chunk = start >>> CHUNK_BITS;
+                long chunkEnd = start | (CHUNK_SIZE - 1);
+                if ((start & (CHUNK_SIZE - 1)) == 0 && end >= chunkEnd) {
+                    long lastFullChunk = (end & (CHUNK_SIZE - 1)) == CHUNK_SIZE - 1 ? end >>> CHUNK_BITS : (end >>> CHUNK_BITS) - 1;
+                    builder.addFull(chunk, lastFullChunk);
+                    long fullEnd = (lastFullChunk << CHUNK_BITS) | (CHUNK_SIZE - 1);
+                    if (fullEnd == end) {
+                        break;
+                    }
+                    start = fullEnd + 1;
+                } else {
+                    long runEnd = Math.min(end, chunkEnd);
+                    builder.addRun(chunk, (char) start, (char) runEnd);
+                    // stepping past end would wrap around when end is Long.MAX_VALUE
+                    if (runEnd == end) {
+                        break;
+                    }
+                    start = runEnd + 1;
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    int containerCount() {
+        return containers.length;
+    }
+
+    @Override
+    public boolean contains(long id) {
+        if (id < 0) {
+            return false;
+        }
+        int entry = entryOf(id >>> CHUNK_BITS);
+        return entry >= 0 && containers[entry].contains((char) id);
+    }
+
+    /**
+     * Cuts the batch into blocks of whole words of the result, so the blocks can be filled in parallel.
+     */
+    @Override
+    public BitSet containsAll(long[] ids) {
+        checkSorted(ids);
+        long[] words = new long[(ids.length + Long.SIZE - 1) / Long.SIZE];
+        if (containers.length == 0) {
+            return new BitSet();
+        }
+        IntStream.range(0, (ids.length + BLOCK_SIZE - 1) / BLOCK_SIZE)
+                .parallel()
+                .forEach(block -> {
+                    int from = block * BLOCK_SIZE;
+                    int to = Math.min(ids.length, from + BLOCK_SIZE);
+                    int entry = 0;
+                    for (int i = from; i < to; i++) {
+                        if (ids[i] < 0) {
+                            continue;
+                        }
+                        long chunk = ids[i] >>> CHUNK_BITS;
+                        if (lastChunks[entry] < chunk) {
+                            // the first entry that does not end before this chunk
+                            entry = Arrays.binarySearch(lastChunks, entry, lastChunks.length, chunk);
+                            entry = entry >= 0 ? entry : -entry - 1;
+                            if (entry == lastChunks.length) {
+                                break;
+                            }
+                        }
+                        if (chunk >= firstChunks[entry] && containers[entry].contains((char) ids[i])) {
+                            words[i >>> 6] |= 1L << i;
+                        }
+                    }
+                });
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Counts per container in parallel; every container only looks at the slice of the batch in its chunks.
+     */
+    @Override
+    public long countContained(long[] ids) {
+        checkSorted(ids);
+        return IntStream.range(0, containers.length)
+                .parallel()
+                .mapToLong(entry -> {
+                    int from = lowerBound(ids, firstChunks[entry] << CHUNK_BITS);
+                    // the last ID of the entry rather than the first one after it, which overflows in the top chunk
+                    int to = upperBound(ids, (lastChunks[entry] << CHUNK_BITS) | (CHUNK_SIZE - 1));
+                    Container container = containers[entry];
+                    if (container == FULL) {
+                        return to - from;
+                    }
+                    long count = 0;
+                    for (int i = from; i < to; i++) {
+                        if (container.contains((char) ids[i])) {
+                            count++;
+                        }
+                    }
+                    return count;
+                })
+                .sum();
+    }
+
+    private static void checkSorted(long[] ids) {
+        IntStream.range(1, ids.length)
+                .parallel()
+                .filter(i -> ids[i] < ids[i - 1])
+                .findFirst()
+                .ifPresent(i -> {
+                    throw new IllegalArgumentException("Invalid IDs: not sorted at index " + i);
+                });
+    }
+
+    /**
+     * Returns the entry that holds {@code chunk}, or -1 when no entry holds it.
+     */
+    private int entryOf(long chunk) {
+        int found = Arrays.binarySearch(firstChunks, chunk);
+        if (found >= 0) {
+            return found;
+        }
+        int entry = -found - 2;
+        return entry >= 0 && chunk <= lastChunks[entry] ? entry : -1;
+    }
+
+    private static int lowerBound(long[] ids, long id) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ids[middle] < id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(long[] ids, long id) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ids[middle] <= id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private sealed interface Container permits ArrayContainer, BitmapContainer, RunContainer {
+        boolean contains(char low);
+    }
+
+    private record ArrayContainer(char[] values) implements Container {
+        @Override
+        public boolean contains(char low) {
+            return Arrays.binarySearch(values, low) >= 0;
+        }
+    }
+
+    private record BitmapContainer(long[] words) implements Container {
+        @Override
+        public boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+    }
+
+    private record RunContainer(char[] starts, char[] ends) implements Container {
+        @Override
+        public boolean contains(char low) {
+            int found = Arrays.binarySearch(starts, low);
+            if (found >= 0) {
+                return true;
+            }
+            int run = -found - 2;
+            return run >= 0 && low <= ends[run];
+        }
+    }
+
+    private static final class Builder {
+        private final List<Long> firstChunks = new ArrayList<>();
+        private final List<Long> lastChunks = new ArrayList<>();
+        private final List<Container> containers = new ArrayList<>();
+        private long chunk = -1;
+        private char[] runStarts = new char[16];
+        private char[] runEnds = new char[16];
+        private int runCount;
+
+        void addFull(long first, long last) {
+            flush();
+            add(first, last, FULL);
+        }
+
+        void addRun(long chunk, char start, char end) {
+            if (chunk != this.chunk) {
+                flush();
+                this.chunk = chunk;
+            }
+            if (runCount == runStarts.length) {
+                runStarts = Arrays.copyOf(runStarts, runCount * 2);
+                runEnds = Arrays.copyOf(runEnds, runCount * 2);
+            }
+            runStarts[runCount] = start;
+            runEnds[runCount++] = end;
+        }
+
+        RangeBitmap build() {
+            flush();
+            return new RangeBitmap(
+                    firstChunks.stream().mapToLong(Long::longValue).toArray(),
+                    lastChunks.stream().mapToLong(Long::longValue).toArray(),
+                    containers.toArray(Container[]::new));
+        }
+
+        private void add(long first, long last, Container container) {
+            firstChunks.add(first);
+            lastChunks.add(last);
+            containers.add(container);
+        }
+
+        // picks the smallest container like a roaring bitmap does: 2 bytes per value, 8 KiB, or 4 bytes per run
+        private void flush() {
+            if (runCount == 0) {
+                return;
+            }
+            int cardinality = 0;
+            for (int run = 0; run < runCount; run++) {
+                cardinality += runEnds[run] - runStarts[run] + 1;
+            }
+            int runBytes = 4 * runCount;
+            int arrayBytes = cardinality <= MAX_ARRAY_SIZE ? 2 * cardinality : Integer.MAX_VALUE;
+            int bitmapBytes = CHUNK_SIZE / Byte.SIZE;
+            Container container;
+            if (runBytes <= arrayBytes && runBytes <= bitmapBytes) {
+                container = new RunContainer(Arrays.copyOf(runStarts, runCount), Arrays.copyOf(runEnds, runCount));
+            } else if (arrayBytes <= bitmapBytes) {
+                char[] values = new char[cardinality];
+                int size = 0;
+                for (int run = 0; run < runCount; run++) {
+                    for (int low = runStarts[run]; low <= runEnds[run]; low++) {
+                        values[size++] = (char) low;
+                    }
+                }
+                container = new ArrayContainer(values);
+            } else {
+                long[] words = new long[CHUNK_SIZE / Long.SIZE];
+                for (int run = 0; run < runCount; run++) {
+                    for (int low = runStarts[run]; low <= runEnds[run]; low++) {
+                        words[low >>> 6] |= 1L << low;
+                    }
+                }
+                container = new BitmapContainer(words);
+            }
+            add(chunk, chunk, container);
+            runCount = 0;
+        }
+    }
+}
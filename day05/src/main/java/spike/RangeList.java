@@ -0,0 +1,67 @@
+package spike;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Growable list of inclusive ranges kept as two primitive arrays, so a range costs 16 bytes and no object.
+ */
+final class RangeList {
+    private long[] mins = new long[16];
+    private long[] maxs = new long[16];
+    private int size;
+
+    /**
+     * Reads the {@code min-max} lines at the start of the database, up to the first blank line.
+     */
+    static RangeList read(Path path) throws IOException {
+        RangeList ranges = new RangeList();
+        try (BufferedReader in = Files.newBufferedReader(path)) {
+            String line;
+            while ((line = in.readLine()) != null && !line.isEmpty()) {
+                int dash = line.indexOf('-');
+                if (dash <= 0) {
+                    throw new IllegalArgumentException("Invalid range: " + line);
+                }
+                ranges.add(Long.parseLong(line, 0, dash, 10), Long.parseLong(line, dash + 1, line.length(), 10));
+            }
+        }
+        return ranges;
+    }
+
+    static Path resourcePath(String name) throws URISyntaxException {
+        return Path.of(requireNonNull(RangeList.class.getResource(name)).toURI());
+    }
+
+    void add(long min, long max) {
+        if (size == mins.length) {
+            int capacity = Math.toIntExact(Math.min(Integer.MAX_VALUE - 8L, size + (size >> 1) + 16L));
+            mins = Arrays.copyOf(mins, capacity);
+            maxs = Arrays.copyOf(maxs, capacity);
+        }
+        mins[size] = min;
+        maxs[size++] = max;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Coalesces the ranges into an index; the list is empty afterwards, its arrays are sorted in place.
+     */
+    IntervalIndex toIndex(boolean parallelSort) {
+        long[] trimmedMins = size == mins.length ? mins : Arrays.copyOf(mins, size);
+        long[] trimmedMaxs = size == maxs.length ? maxs : Arrays.copyOf(maxs, size);
+        mins = new long[16];
+        maxs = new long[16];
+        size = 0;
+        return IntervalIndex.of(trimmedMins, trimmedMaxs, parallelSort);
+    }
+}
@@ -0,0 +1,67 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DynamicIntervalSetTest {
+    @Test
+    void shouldCountExample() {
+        DynamicIntervalSet set = new DynamicIntervalSet();
+        set.add(3, 5);
+        set.add(10, 14);
+        set.add(16, 20);
+        set.add(12, 18);
+        assertThat(set.coveredCount()).isEqualTo(14);
+        set.remove(12, 18);
+        assertThat(set.coveredCount()).isEqualTo(13);
+        assertThat(set.contains(15)).isFalse();
+        assertThat(set.contains(14)).isTrue();
+    }
+
+    @Test
+    void shouldMatchRebuiltIndexAfterEveryUpdate() {
+        Random random = new Random(2025);
+        DynamicIntervalSet set = new DynamicIntervalSet();
+        List<long[]> added = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            if (added.isEmpty() || random.nextInt(3) > 0) {
+                long min = random.nextLong(0, 1_000);
+                long[] range = {min, min + random.nextLong(0, 50)};
+                set.add(range[0], range[1]);
+                added.add(range);
+            } else {
+                long[] range = added.remove(random.nextInt(added.size()));
+                set.remove(range[0], range[1]);
+            }
+            IntervalIndex index = IntervalIndex.of(
+                    added.stream().mapToLong(range -> range[0]).toArray(),
+                    added.stream().mapToLong(range -> range[1]).toArray());
+            assertThat(set.coveredCount()).isEqualTo(index.coveredCount());
+            long id = random.nextLong(0, 1_100);
+            assertThat(set.contains(id)).isEqualTo(index.contains(id));
+        }
+    }
+
+    @Test
+    void shouldCoverWholeDomain() {
+        DynamicIntervalSet set = new DynamicIntervalSet();
+        set.add(0, DynamicIntervalSet.MAX_ID);
+        assertThat(set.coveredCount()).isEqualTo(Long.MAX_VALUE);
+        assertThat(set.contains(DynamicIntervalSet.MAX_ID)).isTrue();
+    }
+
+    @Test
+    void shouldRejectRemovingRangeThatWasNotAdded() {
+        DynamicIntervalSet set = new DynamicIntervalSet();
+        set.add(10, 20);
+        assertThatThrownBy(() -> set.remove(10, 21))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(set.coveredCount()).isEqualTo(11);
+    }
+}
@@ -0,0 +1,85 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntervalIndexTest {
+    static final long[] EXAMPLE_MINS = {3, 10, 16, 12};
+    static final long[] EXAMPLE_MAXS = {5, 14, 20, 18};
+
+    @ParameterizedTest
+    @CsvSource(textBlock = """
+            1, false
+            5, true
+            8, false
+            11, true
+            17, true
+            32, false
+            """)
+    void shouldFindExampleIds(long id, boolean fresh) {
+        IntervalIndex index = IntervalIndex.of(EXAMPLE_MINS.clone(), EXAMPLE_MAXS.clone());
+        assertThat(index.contains(id)).isEqualTo(fresh);
+    }
+
+    @Test
+    void shouldCoalesceExample() {
+        IntervalIndex index = IntervalIndex.of(EXAMPLE_MINS.clone(), EXAMPLE_MAXS.clone());
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(new long[]{index.start(0), index.end(0), index.start(1), index.end(1)}).containsExactly(3, 5, 10, 20);
+        assertThat(index.countContained(new long[]{1, 5, 8, 11, 17, 32})).isEqualTo(3);
+    }
+
+    @Test
+    void shouldCoalesceAdjacentRanges() {
+        IntervalIndex index = IntervalIndex.of(new long[]{4, 1, 9}, new long[]{6, 3, 9});
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(new long[]{index.start(0), index.end(0), index.start(1), index.end(1)}).containsExactly(1, 6, 9, 9);
+    }
+
+    @Test
+    void shouldMatchLinearScanForRandomRanges() {
+        Random random = new Random(2025);
+        for (int i = 0; i < 100; i++) {
+            int rangeCount = random.nextInt(1, 50);
+            long[] mins = new long[rangeCount];
+            long[] maxs = new long[rangeCount];
+            for (int r = 0; r < rangeCount; r++) {
+                mins[r] = random.nextLong(0, 1_000);
+                maxs[r] = mins[r] + random.nextLong(0, 30);
+            }
+            long[] ids = random.longs(200, 0, 1_100).sorted().toArray();
+            IntervalIndex index = IntervalIndex.of(mins.clone(), maxs.clone());
+            for (long id : ids) {
+                boolean expected = false;
+                for (int r = 0; r < rangeCount; r++) {
+                    expected |= id >= mins[r] && id <= maxs[r];
+                }
+                assertThat(index.contains(id)).isEqualTo(expected);
+            }
+            assertThat(index.countContained(ids)).isEqualTo(LongStream.of(ids).filter(index::contains).count());
+        }
+    }
+
+    @Test
+    void shouldRejectUnsortedIds() {
+        IntervalIndex index = IntervalIndex.of(EXAMPLE_MINS.clone(), EXAMPLE_MAXS.clone());
+        assertThatThrownBy(() -> index.containsAll(new long[]{11, 5}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectRangesCoveringMoreThanLongMaxValueIds() {
+        assertThatThrownBy(() -> IntervalIndex.of(new long[]{0}, new long[]{Long.MAX_VALUE}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> IntervalIndex.of(new long[]{-10}, new long[]{Long.MAX_VALUE - 5}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(IntervalIndex.of(new long[]{1}, new long[]{Long.MAX_VALUE}).coveredCount()).isEqualTo(Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,71 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RangeBitmapTest {
+    @Test
+    void shouldCountExampleIds() {
+        RangeBitmap bitmap = RangeBitmap.of(IntervalIndex.of(IntervalIndexTest.EXAMPLE_MINS.clone(), IntervalIndexTest.EXAMPLE_MAXS.clone()));
+        assertThat(bitmap.countContained(new long[]{1, 5, 8, 11, 17, 32})).isEqualTo(3);
+    }
+
+    @Test
+    void shouldKeepRunOfFullChunksInOneContainer() {
+        RangeBitmap bitmap = RangeBitmap.of(IntervalIndex.of(new long[]{100}, new long[]{1_000_000_000_000L}));
+        assertThat(bitmap.containerCount()).isEqualTo(3);
+        assertThat(bitmap.contains(99)).isFalse();
+        assertThat(bitmap.contains(100)).isTrue();
+        assertThat(bitmap.contains(500_000_000_000L)).isTrue();
+        assertThat(bitmap.contains(1_000_000_000_000L)).isTrue();
+        assertThat(bitmap.contains(1_000_000_000_001L)).isFalse();
+    }
+
+    @Test
+    void shouldMatchIntervalIndexInTheTopChunk() {
+        long top = Long.MAX_VALUE;
+        IntervalIndex index = IntervalIndex.of(
+                new long[]{top - 3_000_000, top - 70_000, top - 10},
+                new long[]{top - 2_000_000, top - 20, top});
+        RangeBitmap bitmap = RangeBitmap.of(index);
+        long[] ids = {top - 2_500_000, top - 1_000_000, top - 65_536, top - 30, top - 15, top - 5, top - 1, top};
+        assertThat(bitmap.countContained(ids)).isEqualTo(index.countContained(ids)).isEqualTo(6);
+        assertThat(bitmap.containsAll(ids)).isEqualTo(index.containsAll(ids));
+        for (long id : ids) {
+            assertThat(bitmap.contains(id)).isEqualTo(index.contains(id));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(textBlock = """
+            # ranges, maximum width, gap between ranges
+            10, 200000, 1000000
+            500, 10, 100
+            5000, 3, 10
+            """)
+    void shouldMatchIntervalIndex(int rangeCount, long maxWidth, long maxGap) {
+        Random random = new Random(rangeCount);
+        long[] mins = new long[rangeCount];
+        long[] maxs = new long[rangeCount];
+        long position = random.nextLong(0, 1L << 20);
+        for (int r = 0; r < rangeCount; r++) {
+            mins[r] = position;
+            maxs[r] = position + random.nextLong(0, maxWidth);
+            position = maxs[r] + 2 + random.nextLong(0, maxGap);
+        }
+        IntervalIndex index = IntervalIndex.of(mins, maxs);
+        RangeBitmap bitmap = RangeBitmap.of(index);
+        long[] ids = random.longs(100_000, 0, position + 1_000).sorted().toArray();
+
+        assertThat(bitmap.countContained(ids)).isEqualTo(index.countContained(ids));
+        assertThat(bitmap.containsAll(ids)).isEqualTo(index.containsAll(ids));
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(bitmap.contains(ids[i])).isEqualTo(index.contains(ids[i]));
+        }
+    }
+}
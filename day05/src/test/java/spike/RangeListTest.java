@@ -0,0 +1,52 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RangeListTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldCountFreshIdsOfExample() throws Exception {
+        Path input = Files.writeString(tempDir.resolve("example.txt"), """
+                3-5
+                10-14
+                16-20
+                12-18
+
+                1
+                5
+                """);
+        RangeList ranges = RangeList.read(input);
+        assertThat(ranges.size()).isEqualTo(4);
+        assertThat(ranges.toIndex(false).coveredCount()).isEqualTo(14);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldMatchRepeatedMergesForRandomRanges(boolean parallelSort) {
+        Random random = new Random(2025);
+        for (int i = 0; i < 100; i++) {
+            RangeList ranges = new RangeList();
+            List<String> lines = new ArrayList<>();
+            for (int r = random.nextInt(1, 2_000); r > 0; r--) {
+                long min = random.nextLong(0, 1_000_000);
+                long max = min + random.nextLong(0, 1_000);
+                ranges.add(min, max);
+                lines.add(min + "-" + max);
+            }
+            assertThat(ranges.toIndex(parallelSort).coveredCount()).isEqualTo(Day5Part2.mergeUntilStable(lines));
+        }
+    }
+}
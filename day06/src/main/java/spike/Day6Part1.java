@@ -3,7 +3,9 @@ package spike;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -15,9 +17,22 @@ public class Day6Part1 {
     static void main() throws Exception {
 //        List<String> lines = readInputLines("/example.txt").stream()
         List<String> lines = readInputLines("/input.txt").stream()
-                .map(String::trim)
                 .filter(not(String::isBlank))
                 .toList();
+        ProblemEvaluator.Result result = ProblemEvaluator.evaluate(Worksheet.of(lines).horizontalProblems());
+        if (result.wideProblems().length > 0) {
+            System.out.println("problems that overflow a long: " + Arrays.toString(result.wideProblems()));
+        }
+        BigInteger total = result.total();
+//        long total = Worksheet.of(lines).horizontalProblems().total();
+//        long total = totalBySplitting(lines);
+        System.out.println(total);
+    }
+
+    static long totalBySplitting(List<String> worksheet) {
+        List<String> lines = worksheet.stream()
+                .map(String::trim)
+                .toList();
         int rowCount = lines.size() - 1;
         int columnCount = lines.getFirst().split("\\s+").length;
         long total = 0;
@@ -39,7 +54,7 @@ public class Day6Part1 {
             };
             total += columnResult;
         }
-        System.out.println(total);
+        return total;
     }
 
     @SuppressWarnings("SameParameterValue")
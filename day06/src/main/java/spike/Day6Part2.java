@@ -3,6 +3,9 @@ package spike;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -12,10 +15,23 @@ import static java.util.function.Predicate.not;
 public class Day6Part2 {
 
     static void main() throws Exception {
-//        List<String> lines = readInputLines("/example.txt").stream()
-        List<String> lines = readInputLines("/input.txt").stream()
-                .filter(not(String::isBlank))
-                .toList();
+//        Path input = StreamingWorksheet.resourcePath("/example.txt");
+        Path input = StreamingWorksheet.resourcePath("/input.txt");
+        ProblemEvaluator.Result result = ProblemEvaluator.evaluate(StreamingWorksheet.readVerticalProblems(input));
+//        List<String> lines = readInputLines("/input.txt").stream()
+//                .filter(not(String::isBlank))
+//                .toList();
+//        ProblemEvaluator.Result result = ProblemEvaluator.evaluate(Worksheet.of(lines).verticalProblems());
+        if (result.wideProblems().length > 0) {
+            System.out.println("problems that overflow a long: " + Arrays.toString(result.wideProblems()));
+        }
+        BigInteger total = result.total();
+//        long total = Worksheet.of(lines).verticalProblems().total();
+//        long total = totalByColumns(lines);
+        System.out.println(total);
+    }
+
+    static long totalByColumns(List<String> lines) {
         int columnCount = lines.stream().mapToInt(String::length).max().orElse(0);
         int rowCount = lines.size() - 1;
         List<char[]> lineChars = lines.stream()
@@ -60,7 +76,7 @@ public class Day6Part2 {
             currentColumn = nextColumn;
         }
 
-        System.out.println(total);
+        return total;
     }
 
     @SuppressWarnings("SameParameterValue")
@@ -0,0 +1,126 @@
+package spike;
+
+import java.io.Serial;
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates the problems of a worksheet on a fork/join pool. Problems are independent, so the pool splits
+ * them into slices that are evaluated in {@code long} arithmetic with {@link Math#multiplyExact} and
+ * {@link Math#addExact}. Only a problem that overflows is evaluated again with {@link BigInteger},
+ * and it is reported in {@link Result#wideProblems()} when its value does not fit in a {@code long}.
+ */
+final class ProblemEvaluator {
+    private static final int SLICE_SIZE = 256;
+
+    /**
+     * The grand total, and the indexes of the problems that did not fit in a {@code long}, in ascending order.
+     */
+    record Result(BigInteger total, int[] wideProblems) {
+        Result plus(Result next) {
+            return new Result(total.add(next.total), IntStream.concat(IntStream.of(wideProblems), IntStream.of(next.wideProblems)).toArray());
+        }
+    }
+
+    private ProblemEvaluator() {
+    }
+
+    static Result evaluate(Problems problems) {
+        return evaluate(problems, Runtime.getRuntime().availableProcessors());
+    }
+
+    static Result evaluate(Problems problems, int parallelism) {
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            return pool.invoke(new EvaluateTask(problems, 0, problems.count()));
+        }
+    }
+
+    static Result evaluateSerially(Problems problems) {
+        return evaluate(problems, 0, problems.count());
+    }
+
+    private static Result evaluate(Problems problems, int from, int to) {
+        long total = 0;
+        BigInteger wideTotal = BigInteger.ZERO;
+        IntStream.Builder wideProblems = IntStream.builder();
+        for (int problem = from; problem < to; problem++) {
+            long result;
+            try {
+                result = evaluateExact(problems, problem);
+            } catch (ArithmeticException e) {
+                BigInteger wide = evaluateWide(problems, problem);
+                // a product can overflow on the way and still end up in range after a factor of zero
+                if (wide.bitLength() >= Long.SIZE) {
+                    wideTotal = wideTotal.add(wide);
+                    wideProblems.add(problem);
+                    continue;
+                }
+                result = wide.longValue();
+            }
+            try {
+                total = Math.addExact(total, result);
+            } catch (ArithmeticException e) {
+                wideTotal = wideTotal.add(BigInteger.valueOf(total));
+                total = result;
+            }
+        }
+        return new Result(wideTotal.add(BigInteger.valueOf(total)), wideProblems.build().toArray());
+    }
+
+    private static long evaluateExact(Problems problems, int problem) {
+        long[] operands = problems.operands();
+        int end = problems.offsets()[problem + 1];
+        long result;
+        if (problems.operators()[problem] == '+') {
+            result = 0;
+            for (int i = problems.offsets()[problem]; i < end; i++) {
+                result = Math.addExact(result, operands[i]);
+            }
+        } else {
+            result = 1;
+            for (int i = problems.offsets()[problem]; i < end; i++) {
+                result = Math.multiplyExact(result, operands[i]);
+            }
+        }
+        return result;
+    }
+
+    private static BigInteger evaluateWide(Problems problems, int problem) {
+        long[] operands = problems.operands();
+        boolean add = problems.operators()[problem] == '+';
+        BigInteger result = add ? BigInteger.ZERO : BigInteger.ONE;
+        for (int i = problems.offsets()[problem]; i < problems.offsets()[problem + 1]; i++) {
+            result = add ? result.add(BigInteger.valueOf(operands[i])) : result.multiply(BigInteger.valueOf(operands[i]));
+        }
+        return result;
+    }
+
+    private static final class EvaluateTask extends RecursiveTask<Result> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient Problems problems;
+        private final int from;
+        private final int to;
+
+        EvaluateTask(Problems problems, int from, int to) {
+            this.problems = problems;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= SLICE_SIZE) {
+                return evaluate(problems, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            EvaluateTask left = new EvaluateTask(problems, from, middle);
+            left.fork();
+            Result right = new EvaluateTask(problems, middle, to).compute();
+            return left.join().plus(right);
+        }
+    }
+}
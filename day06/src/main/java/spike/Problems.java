@@ -0,0 +1,41 @@
+package spike;
+
+/**
+ * The problems of a worksheet: the operands of problem {@code p} are
+ * {@code operands[offsets[p]]} up to {@code operands[offsets[p + 1]]}, combined with {@code operators[p]}.
+ */
+record Problems(char[] operators, int[] offsets, long[] operands) {
+    Problems {
+        if (offsets.length != operators.length + 1) {
+            throw new IllegalArgumentException("Invalid offsets: " + offsets.length + " for " + operators.length + " problems");
+        }
+        for (char operator : operators) {
+            if (operator != '+' && operator != '*') {
+                throw new IllegalArgumentException("Invalid operator: " + operator);
+            }
+        }
+    }
+
+    int count() {
+        return operators.length;
+    }
+
+    long evaluate(int problem) {
+        long result = operators[problem] == '+' ? 0 : 1;
+        for (int i = offsets[problem]; i < offsets[problem + 1]; i++) {
+            switch (operators[problem]) {
+                case '+' -> result += operands[i];
+                case '*' -> result *= operands[i];
+            }
+        }
+        return result;
+    }
+
+    long total() {
+        long total = 0;
+        for (int problem = 0; problem < count(); problem++) {
+            total += evaluate(problem);
+        }
+        return total;
+    }
+}
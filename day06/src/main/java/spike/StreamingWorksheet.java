@@ -0,0 +1,155 @@
+package spike;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the vertical problems of a worksheet file without holding its lines.
+ * The first pass seeks to the end of the file and reads backwards up to the start of the operator line,
+ * which gives the operators and the column span of every problem. The second pass streams the rows before it
+ * and shifts their digits into one accumulator per column with {@link VerticalDigits}, so memory grows with the
+ * width of the worksheet and not with the number of rows.
+ */
+final class StreamingWorksheet {
+    private static final int BLOCK_SIZE = 1 << 13;
+
+    private StreamingWorksheet() {
+    }
+
+    static Path resourcePath(String name) throws URISyntaxException {
+        return Path.of(requireNonNull(StreamingWorksheet.class.getResource(name)).toURI());
+    }
+
+    static Problems readVerticalProblems(Path path) throws IOException {
+        long operatorLineStart;
+        byte[] operatorLine;
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            long lineEnd = skipBackOverBlanks(channel, channel.size());
+            operatorLineStart = findLineStart(channel, lineEnd);
+            operatorLine = new byte[Math.toIntExact(lineEnd - operatorLineStart)];
+            ByteBuffer buffer = ByteBuffer.wrap(operatorLine);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, operatorLineStart + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of file in " + path);
+                }
+            }
+        }
+
+        int problemCount = 0;
+        for (byte b : operatorLine) {
+            if (b != ' ') {
+                problemCount++;
+            }
+        }
+        char[] operators = new char[problemCount];
+        int[] starts = new int[problemCount];
+        int[] ends = new int[problemCount];
+        int problem = 0;
+        for (int column = 0; column < operatorLine.length; column++) {
+            if (operatorLine[column] != ' ') {
+                operators[problem] = (char) operatorLine[column];
+                starts[problem] = column;
+                if (problem > 0) {
+                    ends[problem - 1] = column - 1;
+                }
+                problem++;
+            }
+        }
+        if (problemCount == 0) {
+            throw new IllegalArgumentException("Invalid worksheet: no operators in " + path);
+        }
+        ends[problemCount - 1] = operatorLine.length;
+        int[] offsets = new int[problemCount + 1];
+        for (problem = 0; problem < problemCount; problem++) {
+            offsets[problem + 1] = offsets[problem] + ends[problem] - starts[problem];
+        }
+        long[] operands = new long[offsets[problemCount]];
+
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] block = new byte[1 << 16];
+            byte[] row = new byte[Math.max(16, operatorLine.length)];
+            int length = 0;
+            long remaining = operatorLineStart;
+            while (remaining > 0) {
+                int read = in.read(block, 0, (int) Math.min(block.length, remaining));
+                if (read < 0) {
+                    throw new IOException("Unexpected end of file in " + path);
+                }
+                remaining -= read;
+                for (int i = 0; i < read; i++) {
+                    byte b = block[i];
+                    if (b == '\n') {
+                        // the last problem runs up to the end of the longest row
+                        if (length > ends[problemCount - 1]) {
+                            offsets[problemCount] += length - ends[problemCount - 1];
+                            ends[problemCount - 1] = length;
+                            if (offsets[problemCount] > operands.length) {
+                                operands = Arrays.copyOf(operands, Math.max(offsets[problemCount], operands.length * 2));
+                            }
+                        }
+                        VerticalDigits.accumulate(row, length, starts, ends, offsets, operands);
+                        length = 0;
+                    } else if (b != '\r') {
+                        if (length == row.length) {
+                            row = Arrays.copyOf(row, row.length * 2);
+                        }
+                        row[length++] = b;
+                    }
+                }
+            }
+        }
+        if (operands.length != offsets[problemCount]) {
+            operands = Arrays.copyOf(operands, offsets[problemCount]);
+        }
+        return new Problems(operators, offsets, operands);
+    }
+
+    private static long skipBackOverBlanks(FileChannel channel, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+        while (end > 0) {
+            long start = Math.max(0, end - BLOCK_SIZE);
+            read(channel, buffer, start, end);
+            for (int i = (int) (end - start) - 1; i >= 0; i--) {
+                byte b = buffer.get(i);
+                if (b != '\n' && b != '\r' && b != ' ') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        throw new IllegalArgumentException("Invalid worksheet: the file is blank");
+    }
+
+    private static long findLineStart(FileChannel channel, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+        while (end > 0) {
+            long start = Math.max(0, end - BLOCK_SIZE);
+            read(channel, buffer, start, end);
+            for (int i = (int) (end - start) - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    private static void read(FileChannel channel, ByteBuffer buffer, long start, long end) throws IOException {
+        buffer.clear().limit((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+    }
+}
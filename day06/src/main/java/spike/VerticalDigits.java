@@ -0,0 +1,56 @@
+package spike;
+
+/**
+ * Reads the numbers that are written top to bottom in the columns of a worksheet, one row at a time.
+ * Every column has its own accumulator and a digit in a row shifts into it as {@code value * 10 + digit},
+ * blanks are skipped. Rows are walked from left to right, so even a worksheet of millions of columns is read
+ * sequentially and nothing is allocated per column or per row.
+ */
+final class VerticalDigits {
+    private VerticalDigits() {
+    }
+
+    /**
+     * Shifts the digits of {@code row} into {@code operands}; the column {@code c} of problem {@code p} goes into
+     * {@code operands[offsets[p] + c - starts[p]]}.
+     */
+    static void accumulate(char[] row, int[] starts, int[] ends, int[] offsets, long[] operands) {
+        for (int problem = 0; problem < starts.length; problem++) {
+            int start = starts[problem];
+            int end = Math.min(ends[problem], row.length);
+            int operand = offsets[problem] - start;
+            for (int column = start; column < end; column++) {
+                char c = row[column];
+                if (c != ' ') {
+                    operands[operand + column] = shift(operands[operand + column], c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #accumulate(char[], int[], int[], int[], long[])} for the first {@code length} bytes of
+     * {@code row}.
+     */
+    static void accumulate(byte[] row, int length, int[] starts, int[] ends, int[] offsets, long[] operands) {
+        for (int problem = 0; problem < starts.length; problem++) {
+            int start = starts[problem];
+            int end = Math.min(ends[problem], length);
+            int operand = offsets[problem] - start;
+            for (int column = start; column < end; column++) {
+                byte b = row[column];
+                if (b != ' ') {
+                    operands[operand + column] = shift(operands[operand + column], (char) b);
+                }
+            }
+        }
+    }
+
+    private static long shift(long value, char c) {
+        int digit = c - '0';
+        if (digit < 0 || digit > 9) {
+            throw new IllegalArgumentException("Invalid digit: " + c);
+        }
+        return Math.addExact(Math.multiplyExact(value, 10), digit);
+    }
+}
@@ -0,0 +1,141 @@
+package spike;
+
+import java.util.List;
+
+/**
+ * Worksheet of problems laid out in columns, with the operators on the last line.
+ * Every operator starts a problem, which runs up to the blank column before the next operator,
+ * so the column boundaries are found with a single scan of the operator line and every other line is
+ * then scanned once from left to right.
+ */
+final class Worksheet {
+    private final char[][] rows;
+    private final char[] operators;
+    private final int[] starts;
+    private final int[] ends;
+
+    private Worksheet(char[][] rows, char[] operators, int[] starts, int[] ends) {
+        this.rows = rows;
+        this.operators = operators;
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Reads the worksheet from its non-blank lines; the last one holds the operators.
+     */
+    static Worksheet of(List<String> lines) {
+        int rowCount = lines.size() - 1;
+        char[][] rows = new char[rowCount][];
+        int width = 0;
+        for (int row = 0; row < rowCount; row++) {
+            rows[row] = lines.get(row).toCharArray();
+            width = Math.max(width, rows[row].length);
+        }
+        String operatorLine = lines.getLast();
+        int problemCount = 0;
+        for (int column = 0; column < operatorLine.length(); column++) {
+            if (operatorLine.charAt(column) != ' ') {
+                problemCount++;
+            }
+        }
+        char[] operators = new char[problemCount];
+        int[] starts = new int[problemCount];
+        int[] ends = new int[problemCount];
+        int problem = 0;
+        for (int column = 0; column < operatorLine.length(); column++) {
+            char c = operatorLine.charAt(column);
+            if (c != ' ') {
+                operators[problem] = c;
+                starts[problem] = column;
+                if (problem > 0) {
+                    ends[problem - 1] = column - 1;
+                }
+                problem++;
+            }
+        }
+        if (problemCount > 0) {
+            ends[problemCount - 1] = Math.max(width, operatorLine.length());
+        }
+        return new Worksheet(rows, operators, starts, ends);
+    }
+
+    int rowCount() {
+        return rows.length;
+    }
+
+    int problemCount() {
+        return operators.length;
+    }
+
+    /**
+     * Returns the first column of a problem.
+     */
+    int start(int problem) {
+        return starts[problem];
+    }
+
+    /**
+     * Returns the column just after a problem.
+     */
+    int end(int problem) {
+        return ends[problem];
+    }
+
+    /**
+     * Reads every line as one operand per problem, column-major: problem {@code p} gets the operands
+     * {@code p * rowCount()} up to {@code (p + 1) * rowCount()}.
+     * Every line must have at least one digit in every problem.
+     */
+    Problems horizontalProblems() {
+        int rowCount = rows.length;
+        long[] operands = new long[Math.multiplyExact(rowCount, operators.length)];
+        for (int row = 0; row < rowCount; row++) {
+            char[] chars = rows[row];
+            for (int problem = 0; problem < operators.length; problem++) {
+                long value = 0;
+                boolean hasDigits = false;
+                int end = Math.min(ends[problem], chars.length);
+                for (int column = starts[problem]; column < end; column++) {
+                    char c = chars[column];
+                    if (c != ' ') {
+                        // exact like VerticalDigits, so both readings fail the same way on overflow
+                        value = Math.addExact(Math.multiplyExact(value, 10), digit(c));
+                        hasDigits = true;
+                    }
+                }
+                if (!hasDigits) {
+                    throw new IllegalArgumentException("Invalid operand: no digits in row " + row + " of problem " + problem);
+                }
+                operands[problem * rowCount + row] = value;
+            }
+        }
+        int[] offsets = new int[operators.length + 1];
+        for (int problem = 0; problem <= operators.length; problem++) {
+            offsets[problem] = problem * rowCount;
+        }
+        return new Problems(operators.clone(), offsets, operands);
+    }
+
+    /**
+     * Reads every column from top to bottom as one operand of the problem it belongs to, see {@link VerticalDigits}.
+     */
+    Problems verticalProblems() {
+        int[] offsets = new int[operators.length + 1];
+        for (int problem = 0; problem < operators.length; problem++) {
+            offsets[problem + 1] = offsets[problem] + ends[problem] - starts[problem];
+        }
+        long[] operands = new long[offsets[operators.length]];
+        for (char[] chars : rows) {
+            VerticalDigits.accumulate(chars, starts, ends, offsets, operands);
+        }
+        return new Problems(operators.clone(), offsets, operands);
+    }
+
+    private static int digit(char c) {
+        if (c < '0' || c > '9') {
+            throw new IllegalArgumentException("Invalid digit: " + c);
+        }
+        return c - '0';
+    }
+}
@@ -0,0 +1,79 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProblemEvaluatorTest {
+    @Test
+    void shouldSolveExample() {
+        Worksheet worksheet = Worksheet.of(WorksheetTest.EXAMPLE);
+        assertThat(ProblemEvaluator.evaluate(worksheet.horizontalProblems()).total()).isEqualTo(BigInteger.valueOf(4277556));
+        assertThat(ProblemEvaluator.evaluate(worksheet.verticalProblems()).total()).isEqualTo(BigInteger.valueOf(3263827));
+    }
+
+    @Test
+    void shouldReportProblemsThatOverflow() {
+        Problems problems = new Problems(
+                new char[]{'+', '*', '*', '+'},
+                new int[]{0, 2, 4, 6, 8},
+                new long[]{1, 2, 10_000_000_000L, 10_000_000_000L, 3, 4, Long.MAX_VALUE, 1});
+
+        ProblemEvaluator.Result result = ProblemEvaluator.evaluateSerially(problems);
+
+        assertThat(result.wideProblems()).containsExactly(1, 3);
+        assertThat(result.total()).isEqualTo(new BigInteger("100000000000000000015").add(BigInteger.valueOf(Long.MAX_VALUE)).add(BigInteger.ONE));
+    }
+
+    @Test
+    void shouldNotReportProblemsThatOnlyOverflowOnTheWay() {
+        Problems problems = new Problems(
+                new char[]{'*', '+'},
+                new int[]{0, 3, 4},
+                new long[]{10_000_000_000L, 10_000_000_000L, 0, 7});
+
+        ProblemEvaluator.Result result = ProblemEvaluator.evaluateSerially(problems);
+
+        assertThat(result.wideProblems()).isEmpty();
+        assertThat(result.total()).isEqualTo(BigInteger.valueOf(7));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 8})
+    void shouldMatchBigIntegerArithmetic(int parallelism) {
+        Random random = new Random(parallelism);
+        int count = 5_000;
+        char[] operators = new char[count];
+        int[] offsets = new int[count + 1];
+        for (int problem = 0; problem < count; problem++) {
+            operators[problem] = random.nextBoolean() ? '+' : '*';
+            offsets[problem + 1] = offsets[problem] + random.nextInt(1, 6);
+        }
+        long[] operands = random.longs(offsets[count], 0, 1_000_000_000_000L).toArray();
+        Problems problems = new Problems(operators, offsets, operands);
+
+        BigInteger expected = BigInteger.ZERO;
+        IntStream.Builder wide = IntStream.builder();
+        for (int problem = 0; problem < count; problem++) {
+            BigInteger result = operators[problem] == '+' ? BigInteger.ZERO : BigInteger.ONE;
+            for (int i = offsets[problem]; i < offsets[problem + 1]; i++) {
+                result = operators[problem] == '+' ? result.add(BigInteger.valueOf(operands[i])) : result.multiply(BigInteger.valueOf(operands[i]));
+            }
+            if (result.bitLength() >= Long.SIZE) {
+                wide.add(problem);
+            }
+            expected = expected.add(result);
+        }
+
+        ProblemEvaluator.Result result = ProblemEvaluator.evaluate(problems, parallelism);
+
+        assertThat(result.total()).isEqualTo(expected);
+        assertThat(result.wideProblems()).containsExactly(wide.build().toArray());
+    }
+}
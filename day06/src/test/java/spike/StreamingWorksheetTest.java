@@ -0,0 +1,67 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingWorksheetTest {
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @CsvSource(textBlock = """
+            '\\n', ''
+            '\\n', '\\n'
+            '\\r\\n', '\\r\\n\\r\\n'
+            """)
+    void shouldReadExample(String separator, String trailer) throws Exception {
+        String text = String.join(unescape(separator), WorksheetTest.EXAMPLE) + unescape(trailer);
+        Path input = Files.writeString(tempDir.resolve("example.txt"), text);
+
+        Problems problems = StreamingWorksheet.readVerticalProblems(input);
+
+        assertThat(problems.operands()).containsExactly(Worksheet.of(WorksheetTest.EXAMPLE).verticalProblems().operands());
+        assertThat(problems.total()).isEqualTo(3263827);
+    }
+
+    @Test
+    void shouldWidenLastProblemToLongestRow() throws Exception {
+        List<String> lines = List.of(
+                "12 3456",
+                "4  78",
+                "+  *");
+        Path input = Files.writeString(tempDir.resolve("worksheet.txt"), String.join("\n", lines));
+
+        Problems problems = StreamingWorksheet.readVerticalProblems(input);
+
+        assertThat(problems.offsets()).containsExactly(0, 2, 6);
+        assertThat(problems.operands()).containsExactly(14, 2, 37, 48, 5, 6);
+    }
+
+    @Test
+    void shouldMatchWorksheetForRandomWorksheets() throws Exception {
+        Random random = new Random(2025);
+        for (int i = 0; i < 100; i++) {
+            List<String> lines = WorksheetTest.randomWorksheet(random, random.nextInt(1, 12), random.nextInt(1, 100));
+            Path input = Files.writeString(tempDir.resolve("worksheet.txt"), String.join("\n", lines) + "\n");
+
+            Problems problems = StreamingWorksheet.readVerticalProblems(input);
+
+            Problems expected = Worksheet.of(lines).verticalProblems();
+            assertThat(problems.offsets()).containsExactly(expected.offsets());
+            assertThat(problems.operands()).containsExactly(expected.operands());
+        }
+    }
+
+    private static String unescape(String text) {
+        return text.replace("\\r", "\r").replace("\\n", "\n");
+    }
+}
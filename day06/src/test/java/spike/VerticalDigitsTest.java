@@ -0,0 +1,60 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VerticalDigitsTest {
+    @Test
+    void shouldReadExampleColumns() {
+        int[] starts = {0, 4, 8, 12};
+        int[] ends = {3, 7, 11, 15};
+        int[] offsets = {0, 3, 6, 9, 12};
+        long[] operands = new long[12];
+        for (String line : WorksheetTest.EXAMPLE.subList(0, 3)) {
+            VerticalDigits.accumulate(line.toCharArray(), starts, ends, offsets, operands);
+        }
+        assertThat(operands).containsExactly(1, 24, 356, 369, 248, 8, 32, 581, 175, 623, 431, 4);
+    }
+
+    @Test
+    void shouldReadBytesLikeChars() {
+        Random random = new Random(2025);
+        for (int i = 0; i < 100; i++) {
+            List<String> lines = WorksheetTest.randomWorksheet(random, random.nextInt(1, 6), random.nextInt(1, 30));
+            int width = lines.getLast().length();
+            int[] starts = {0};
+            int[] ends = {width};
+            int[] offsets = {0, width};
+            long[] fromChars = new long[width];
+            long[] fromBytes = new long[width];
+            byte[] buffer = new byte[width + 10];
+            for (String line : lines.subList(0, lines.size() - 1)) {
+                VerticalDigits.accumulate(line.toCharArray(), starts, ends, offsets, fromChars);
+                byte[] bytes = line.getBytes(US_ASCII);
+                System.arraycopy(bytes, 0, buffer, 0, bytes.length);
+                VerticalDigits.accumulate(buffer, bytes.length, starts, ends, offsets, fromBytes);
+            }
+            assertThat(fromBytes).containsExactly(fromChars);
+        }
+    }
+
+    @Test
+    void shouldRejectOverflow() {
+        long[] operands = new long[1];
+        char[] nine = {'9'};
+        for (int row = 0; row < 18; row++) {
+            VerticalDigits.accumulate(nine, new int[]{0}, new int[]{1}, new int[]{0, 1}, operands);
+        }
+        assertThatThrownBy(() -> {
+            for (int row = 0; row < 2; row++) {
+                VerticalDigits.accumulate(nine, new int[]{0}, new int[]{1}, new int[]{0, 1}, operands);
+            }
+        }).isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,77 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorksheetTest {
+    static final List<String> EXAMPLE = List.of(
+            "123 328  51 64 ",
+            " 45 64  387 23 ",
+            "  6 98  215 314",
+            "*   +   *   +  ");
+
+    @Test
+    void shouldFindColumnsOfExample() {
+        Worksheet worksheet = Worksheet.of(EXAMPLE);
+        assertThat(worksheet.rowCount()).isEqualTo(3);
+        assertThat(worksheet.problemCount()).isEqualTo(4);
+        assertThat(new int[]{worksheet.start(3), worksheet.end(3)}).containsExactly(12, 15);
+    }
+
+    @Test
+    void shouldSolveExample() {
+        assertThat(Worksheet.of(EXAMPLE).horizontalProblems().total()).isEqualTo(4277556);
+        assertThat(Worksheet.of(EXAMPLE).verticalProblems().total()).isEqualTo(3263827);
+    }
+
+    @Test
+    void shouldMatchOriginalSolutionsForRandomWorksheets() {
+        Random random = new Random(2025);
+        for (int i = 0; i < 100; i++) {
+            List<String> lines = randomWorksheet(random, random.nextInt(1, 6), random.nextInt(1, 30));
+            Worksheet worksheet = Worksheet.of(lines);
+            assertThat(worksheet.horizontalProblems().total()).isEqualTo(Day6Part1.totalBySplitting(lines));
+            assertThat(worksheet.verticalProblems().total()).isEqualTo(Day6Part2.totalByColumns(lines));
+        }
+    }
+
+    @Test
+    void shouldRejectBlankAndOverflowingOperands() {
+        Worksheet blank = Worksheet.of(List.of("12 34", "   56", "*  + "));
+        assertThatThrownBy(blank::horizontalProblems).isInstanceOf(IllegalArgumentException.class);
+        Worksheet wide = Worksheet.of(List.of("99999999999999999999", "+"));
+        assertThatThrownBy(wide::horizontalProblems).isInstanceOf(ArithmeticException.class);
+    }
+
+    /**
+     * Returns a worksheet of problems of up to four digits wide, every number aligned left or right at random.
+     * The first number of a problem is as wide as the problem, so no column is blank.
+     */
+    static List<String> randomWorksheet(Random random, int rowCount, int problemCount) {
+        List<StringBuilder> lines = new ArrayList<>();
+        for (int row = 0; row <= rowCount; row++) {
+            lines.add(new StringBuilder());
+        }
+        for (int problem = 0; problem < problemCount; problem++) {
+            if (problem > 0) {
+                lines.forEach(line -> line.append(' '));
+            }
+            int width = random.nextInt(1, 5);
+            boolean alignRight = random.nextBoolean();
+            for (int row = 0; row < rowCount; row++) {
+                int smallest = row == 0 ? (int) Math.pow(10, width - 1) : 1;
+                String number = Integer.toString(random.nextInt(smallest, (int) Math.pow(10, width)));
+                String padding = " ".repeat(width - number.length());
+                lines.get(row).append(alignRight ? padding + number : number + padding);
+            }
+            lines.getLast().append(random.nextBoolean() ? '+' : '*').append(" ".repeat(width - 1));
+        }
+        return lines.stream().map(StringBuilder::toString).toList();
+    }
+}
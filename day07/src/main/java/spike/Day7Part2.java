@@ -1,30 +1,37 @@
 package spike;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.BitSet;
+import java.lang.foreign.Arena;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.Objects.requireNonNull;
-import static java.util.function.Predicate.not;
-
 public class Day7Part2 {
 
+    private static final byte SPLITTER = '^';
+    private static final byte START = 'S';
+    private static final int SPLITTER_PLANE = 0;
+    private static final int START_PLANE = 1;
+
     static void main() throws Exception {
-//        List<String> lines = readInputLines("/example.txt").stream()
-        List<String> lines = readInputLines("/input.txt").stream()
-                .filter(not(String::isBlank))
-                .toList();
+//        Path input = OffHeapGrid.resourcePath("/example.txt");
+        Path input = OffHeapGrid.resourcePath("/input.txt");
+        long sum;
+        try (Arena arena = Arena.ofConfined()) {
+            sum = countTimelines(OffHeapGrid.load(input, arena, SPLITTER, START));
+        }
+        System.out.println("sum = " + sum);
+        // 40941112789504
+    }
+
+    static long countTimelines(OffHeapGrid grid) {
+        return countTimelines(grid.rows(), grid.columns(), grid.indexOf(START_PLANE, 0), (y, i) -> grid.word(SPLITTER_PLANE, y, i));
+    }
+
+    static long countTimelines(List<String> lines) {
         int rowCount = lines.size();
         int columnCount = lines.getFirst().length();
 
-        int start = lines.getFirst().indexOf("S");
-        List<Beam> currentBeams = List.of(new Beam(start, 1));
-
         Grid grid = new Grid(rowCount, columnCount);
         for (int y = 0; y < rowCount; y++) {
             String line = lines.get(y);
@@ -35,10 +42,15 @@ public class Day7Part2 {
             }
         }
 
+        return countTimelines(rowCount, columnCount, lines.getFirst().indexOf("S"), grid::word);
+    }
+
+    private static long countTimelines(int rowCount, int columnCount, int start, Splitters splitters) {
+        List<Beam> currentBeams = List.of(new Beam(start, 1));
         for (int y = 0; y < rowCount; y++) {
             Map<Integer, Long> newBeams = new HashMap<>();
             for (Beam beam : currentBeams) {
-                if (grid.isSplitter(beam.x(), y)) {
+                if (isSplitter(splitters, columnCount, beam.x(), y)) {
                     newBeams.merge(beam.x() - 1, beam.possibleRoutes(), Long::sum);
                     newBeams.merge(beam.x() + 1, beam.possibleRoutes(), Long::sum);
                 } else {
@@ -50,9 +62,23 @@ public class Day7Part2 {
                     .toList();
         }
 
-        long sum = currentBeams.stream().mapToLong(Beam::possibleRoutes).sum();
-        System.out.println("sum = " + sum);
-        // 40941112789504
+        return currentBeams.stream().mapToLong(Beam::possibleRoutes).sum();
+    }
+
+    private static boolean isSplitter(Splitters splitters, int columnCount, int x, int y) {
+        if (x < 0 || x >= columnCount) {
+            throw new IllegalArgumentException("Invalid coordinates: (" + x + ", " + y + ")");
+        }
+        return (splitters.word(y, x >>> 6) & (1L << x)) != 0;
+    }
+
+    /**
+     * Splitters packed 64 columns to a {@code long}: word {@code i} of row {@code y} holds columns
+     * {@code [64 * i, 64 * i + 64)}, so the beam loop reads the same words on and off the heap.
+     */
+    @FunctionalInterface
+    private interface Splitters {
+        long word(int y, int i);
     }
 
     private record Beam(int x, long possibleRoutes) {
@@ -61,34 +87,28 @@ public class Day7Part2 {
     private static final class Grid {
         private final int rows;
         private final int columns;
-        private final BitSet items;
+        private final int wordsPerRow;
+        private final long[] words;
 
         Grid(int rows, int columns) {
             this.rows = rows;
             this.columns = columns;
-            items = new BitSet(rows * columns);
+            this.wordsPerRow = (columns + Long.SIZE - 1) / Long.SIZE;
+            this.words = new long[Math.multiplyExact(rows, wordsPerRow)];
         }
 
-        boolean isSplitter(int x, int y) {
-            return items.get(index(x, y));
+        long word(int y, int i) {
+            if (y < 0 || y >= rows || i < 0 || i >= wordsPerRow) {
+                throw new IllegalArgumentException("Invalid word: " + i + " of row " + y);
+            }
+            return words[y * wordsPerRow + i];
         }
 
         void addSplitter(int x, int y) {
-            items.set(index(x, y));
-        }
-
-        private int index(int x, int y) {
             if (x < 0 || x >= columns || y < 0 || y >= rows) {
                 throw new IllegalArgumentException("Invalid coordinates: (" + x + ", " + y + ")");
             }
-            return (y * columns) + x;
-        }
-    }
-
-    @SuppressWarnings("SameParameterValue")
-    private static List<String> readInputLines(String name) throws IOException {
-        try (var in = new BufferedReader(new InputStreamReader(requireNonNull(Day7Part2.class.getResourceAsStream(name)), UTF_8))) {
-            return in.lines().toList();
+            words[y * wordsPerRow + (x >>> 6)] |= 1L << x;
         }
     }
 }
@@ -0,0 +1,58 @@
+package spike;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.foreign.Arena;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Day7Part2Test {
+    static final List<String> EXAMPLE = List.of(
+            ".......S.......",
+            "...............",
+            ".......^.......",
+            "...............",
+            "......^.^......",
+            "...............",
+            ".....^.^.^.....",
+            "...............",
+            "....^.^...^....",
+            "...............",
+            "...^.^...^.^...",
+            "...............",
+            "..^...^.....^..",
+            "...............",
+            ".^.^.^.^.^...^.",
+            "...............");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldCountTimelinesOfExample() {
+        assertThat(Day7Part2.countTimelines(EXAMPLE)).isEqualTo(40);
+    }
+
+    @Test
+    void shouldCountTimelinesOfExampleLoadedOffHeap() throws Exception {
+        Path input = Files.writeString(tempDir.resolve("example.txt"), String.join("\r\n", EXAMPLE) + "\r\n\r\n");
+        try (Arena arena = Arena.ofConfined()) {
+            OffHeapGrid grid = OffHeapGrid.load(input, arena, (byte) '^', (byte) 'S');
+            assertThat(grid.rows()).isEqualTo(EXAMPLE.size());
+            assertThat(grid.indexOf(1, 0)).isEqualTo(7);
+            assertThat(Day7Part2.countTimelines(grid)).isEqualTo(40);
+        }
+    }
+
+    @Test
+    void shouldCountTheSameTimelinesOnAndOffHeap() throws Exception {
+        Path input = Files.writeString(tempDir.resolve("example.txt"), String.join("\n", EXAMPLE) + "\n");
+        try (Arena arena = Arena.ofConfined()) {
+            assertThat(Day7Part2.countTimelines(OffHeapGrid.load(input, arena, (byte) '^', (byte) 'S'))).isEqualTo(Day7Part2.countTimelines(EXAMPLE));
+        }
+    }
+}